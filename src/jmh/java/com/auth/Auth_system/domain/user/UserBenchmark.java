@@ -0,0 +1,34 @@
+package com.auth.Auth_system.domain.user;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserBenchmark {
+
+    private User admin;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        admin = new User("admin-id", "Bench Admin", "admin@example.com", "hash", UserRole.ADMIN);
+        user = new User("user-id", "Bench User", "user@example.com", "hash", UserRole.USER);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> adminAuthorities() {
+        return admin.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> userAuthorities() {
+        return user.getAuthorities();
+    }
+}
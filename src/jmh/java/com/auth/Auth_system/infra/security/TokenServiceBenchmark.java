@@ -0,0 +1,75 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.audit.AuditLog;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenServiceBenchmark {
+
+    @Param({"HS256", "RS256", "ES256"})
+    private JwtKeyRing.SigningAlgorithm algorithm;
+
+    private TokenService tokenService;
+    private TokenService uncachedTokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "secret", "benchmark-secret");
+        ReflectionTestUtils.setField(keyRing, "signingAlgorithm", algorithm);
+        ReflectionTestUtils.setField(keyRing, "expiration", Duration.ofHours(2));
+        ReflectionTestUtils.setField(keyRing, "claimsModeExpiration", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(keyRing, "jwksMaxAge", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(keyRing, "keyStorePath", "");
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+        tokenService = tokenService(keyRing, Duration.ofMinutes(1));
+        uncachedTokenService = tokenService(keyRing, Duration.ZERO);
+        user = new User("user-id", "Bench User", "bench@example.com", "hash", UserRole.ADMIN);
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return tokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public String validateTokenUncached() {
+        return uncachedTokenService.validateToken(token);
+    }
+
+    private static TokenService tokenService(JwtKeyRing keyRing, Duration cacheTtl) {
+        TokenService service = new TokenService();
+        ReflectionTestUtils.setField(service, "keyRing", keyRing);
+        ReflectionTestUtils.setField(service, "expiration", Duration.ofHours(2));
+        ReflectionTestUtils.setField(service, "claimsModeExpiration", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(service, "cacheTtl", cacheTtl);
+        ReflectionTestUtils.setField(service, "cacheMaxSize", 10_000);
+        AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "authMetrics", authMetrics);
+        ReflectionTestUtils.setField(service, "auditLog", new AuditLog(1024, 1024, authMetrics));
+        ReflectionTestUtils.setField(service, "denylist", new TokenDenylist(new LocalSecurityStateStore()));
+        ReflectionTestUtils.setField(service, "roleRegistry", new RoleRegistry());
+        service.init();
+        return service;
+    }
+}
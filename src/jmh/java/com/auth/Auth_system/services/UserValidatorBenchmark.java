@@ -0,0 +1,59 @@
+package com.auth.Auth_system.services;
+
+import com.auth.Auth_system.domain.user.RegisterDTO;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.exceptions.ValidationException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserValidatorBenchmark {
+
+    private UserValidator userValidator;
+    private RegisterDTO valid;
+    private RegisterDTO invalid;
+    private String hostileEmail;
+
+    @Param({"bench.user+tag@example.com"})
+    public String email;
+
+    @Setup
+    public void setUp() {
+        userValidator = new UserValidator();
+        valid = new RegisterDTO("Bench User", email, "correct horse battery", UserRole.USER);
+        invalid = new RegisterDTO("", "not-an-email", "short", null);
+        hostileEmail = "a".repeat(50) + "@" + "b.".repeat(100) + "!";
+    }
+
+    @Benchmark
+    public String validateEmail() {
+        userValidator.validateEmail(email);
+        return email;
+    }
+
+    @Benchmark
+    public boolean validateHostileEmail() {
+        return UserValidator.isValidEmail(hostileEmail);
+    }
+
+    @Benchmark
+    public RegisterDTO validateRegistration() {
+        userValidator.validate(valid);
+        return valid;
+    }
+
+    @Benchmark
+    public int validateInvalidRegistration() {
+        try {
+            userValidator.validate(invalid);
+            return 0;
+        } catch (ValidationException e) {
+            return e.getViolations().size();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.auth.Auth_system.controllers;
+
+import com.auth.Auth_system.domain.audit.AuditEventDTO;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import com.auth.Auth_system.repositories.AuditEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Recent authentication activity for one login in the caller's tenant, newest first. Events
+ * reach the table asynchronously, so the last second or so of activity may not be listed yet.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AuditController {
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private AuditEventRepository repository;
+
+    @GetMapping("/auth/audit")
+    public ResponseEntity<List<AuditEventDTO>> recentEvents(@RequestParam String login,
+                                                            @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(repository.findRecent(TenantContext.current(), login, Limit.of(pageSize)));
+    }
+}
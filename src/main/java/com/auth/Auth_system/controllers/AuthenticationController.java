@@ -1,92 +1,195 @@
 package com.auth.Auth_system.controllers;
 
 
+import com.auth.Auth_system.domain.audit.AuditEventType;
+import com.auth.Auth_system.domain.token.RefreshRequestDTO;
 import com.auth.Auth_system.domain.user.AuthenticationDTO;
+import com.auth.Auth_system.domain.user.ImportReportDTO;
 import com.auth.Auth_system.domain.user.LoginResponseDTO;
 import com.auth.Auth_system.domain.user.RegisterDTO;
 import com.auth.Auth_system.domain.user.User;
-import com.auth.Auth_system.exceptions.EmailValidationException;
-import com.auth.Auth_system.exceptions.NameValidationException;
-import com.auth.Auth_system.exceptions.PasswordValidationException;
+import com.auth.Auth_system.domain.user.UserPageDTO;
+import com.auth.Auth_system.domain.user.UserSummaryDTO;
 import com.auth.Auth_system.exceptions.UserAlreadyExistsException;
+import com.auth.Auth_system.infra.audit.AuditLog;
+import com.auth.Auth_system.infra.datasource.ReadYourWrites;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.security.LoginAttemptTracker;
+import com.auth.Auth_system.infra.security.PasswordHashingExecutor;
 import com.auth.Auth_system.infra.security.TokenService;
+import com.auth.Auth_system.infra.security.VerifiedToken;
+import com.auth.Auth_system.infra.tenant.TenantContext;
 import com.auth.Auth_system.repositories.UserRepository;
+import com.auth.Auth_system.services.AuthorizationService;
+import com.auth.Auth_system.services.RefreshTokenService;
+import com.auth.Auth_system.services.UserExportService;
+import com.auth.Auth_system.services.UserImportService;
+import com.auth.Auth_system.services.UserValidator;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("auth")
 public class AuthenticationController {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     @Autowired
     private AuthenticationManager authenticationManager;
     @Autowired
     private UserRepository repository;
     @Autowired
     private TokenService tokenService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PasswordHashingExecutor hashingExecutor;
+    @Autowired
+    private TaskExecutor taskExecutor;
+    @Autowired
+    private UserExportService userExportService;
+    @Autowired
+    private UserImportService userImportService;
+    @Autowired
+    private UserValidator userValidator;
+    @Autowired
+    private AuthMetrics authMetrics;
+    @Autowired
+    private LoginAttemptTracker loginAttempts;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private ReadYourWrites readYourWrites;
+    @Autowired
+    private AuditLog auditLog;
+    @Autowired
+    private AuthorizationService authorizationService;
 
     @PostMapping("/login")
-    public ResponseEntity login(@RequestBody @Valid AuthenticationDTO data){
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> login(@RequestBody @Valid AuthenticationDTO data){
+        long start = System.nanoTime();
         var usernamePassword = new UsernamePasswordAuthenticationToken(data.login(), data.password());
-        var auth = this.authenticationManager.authenticate(usernamePassword);
-
-        var token = tokenService.generateToken((User) auth.getPrincipal());
-
-        return ResponseEntity.ok(new LoginResponseDTO(token));
+        String tenant = TenantContext.current();
+        String remoteAddress = AuditLog.currentRemoteAddress();
+
+        return hashingExecutor.submit(() -> TenantContext.callWith(tenant, () -> this.authenticationManager.authenticate(usernamePassword)))
+                .thenApplyAsync(auth -> {
+                    var user = (User) auth.getPrincipal();
+                    authorizationService.upgradePassword(user, data.password());
+                    var token = tokenService.generateToken(user);
+                    return ResponseEntity.ok(new LoginResponseDTO(token, refreshTokenService.create(user)));
+                }, taskExecutor)
+                .whenComplete((response, failure) -> {
+                    authMetrics.login(System.nanoTime() - start, failure == null);
+                    auditLog.record(failure == null ? AuditEventType.LOGIN_SUCCEEDED : AuditEventType.LOGIN_FAILED,
+                            tenant, data.login(), failure == null ? null : AuditLog.loginFailure(failure), remoteAddress);
+                    if (failure == null) {
+                        loginAttempts.succeeded(tenant, data.login());
+                    } else if ((failure instanceof CompletionException ? failure.getCause() : failure) instanceof BadCredentialsException) {
+                        loginAttempts.failed(tenant, data.login());
+                    }
+                });
     }
 
-    @PostMapping("/register")
-    public ResponseEntity register(@RequestBody @Valid RegisterDTO data) {
-
-        validateName(data.name());
-        validateEmail(data.login());
-        validatePassword(data.password());
-
-        if (repository.findByLogin(data.login()) != null) {
-            throw new UserAlreadyExistsException("The email has already been registered.");
-        }
-
-        String encryptedPassword = new BCryptPasswordEncoder().encode(data.password());
-        User newUser = new User(data.name(), data.login(), encryptedPassword, data.role());
-
-        repository.save(newUser);
-
-        return ResponseEntity.ok().build();
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refresh(@RequestBody @Valid RefreshRequestDTO data) {
+        return ResponseEntity.ok(refreshTokenService.rotate(data.refreshToken()));
     }
 
-    private void validateName(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            throw new NameValidationException("Name cannot be empty or null.");
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody(required = false) RefreshRequestDTO data, Authentication authentication) {
+        if (authentication != null && authentication.getDetails() instanceof VerifiedToken verified) {
+            tokenService.revoke(verified);
         }
-        if (name.length() < 3) {
-            throw new NameValidationException("Name must be at least 3 characters long.");
+        if (data != null && data.refreshToken() != null) {
+            refreshTokenService.revoke(data.refreshToken());
         }
+        return ResponseEntity.noContent().build();
     }
 
-    private void validateEmail(String email) {
-        String emailRegex = "^[A-Za-z0-9+_.-]+@(.+)$";
-        if (!Pattern.matches(emailRegex, email)) {
-            throw new EmailValidationException("Invalid email format.");
-        }
+    @PostMapping("/register")
+    public CompletableFuture<ResponseEntity<Void>> register(@RequestBody RegisterDTO data) {
+
+        userValidator.validate(data);
+        String tenant = TenantContext.current();
+        String remoteAddress = AuditLog.currentRemoteAddress();
+
+        // Only the hash runs on the hashing pool; the insert must not hold one of its threads
+        return hashingExecutor.submit(() -> passwordEncoder.encode(data.password()))
+                .thenApplyAsync(encryptedPassword -> {
+                    User newUser = new User(data.name(), data.login(), encryptedPassword, data.role(), tenant);
+                    try {
+                        repository.saveAndFlush(newUser);
+                    } catch (DataIntegrityViolationException e) {
+                        if (isLoginConflict(e)) {
+                            authMetrics.registerConflict();
+                            throw new UserAlreadyExistsException("The email has already been registered.");
+                        }
+                        throw e;
+                    }
+                    readYourWrites.written(tenant, newUser.getLogin());
+                    authMetrics.registered();
+                    auditLog.record(AuditEventType.REGISTERED, tenant, newUser.getLogin(), null, remoteAddress);
+                    return ResponseEntity.<Void>ok().build();
+                }, taskExecutor);
     }
 
-    private void validatePassword(String password) {
-        if (password == null || password.length() < 8) {
-            throw new PasswordValidationException("Password must be at least 8 characters long.");
+    private static boolean isLoginConflict(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation) {
+            // Drivers may qualify or suffix the name, e.g. H2's PUBLIC.UK_USERS_TENANT_LOGIN_INDEX_4
+            String constraint = violation.getConstraintName();
+            return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(User.LOGIN_CONSTRAINT);
         }
+        return false;
     }
 
-
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = repository.findAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<UserPageDTO> getAllUsers(@RequestParam(defaultValue = "") String cursor,
+                                                   @RequestParam(defaultValue = "50") int limit,
+                                                   Authentication authentication) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<UserSummaryDTO> users = repository.findPageAfter(VerifiedToken.tenantOf(authentication), cursor, Limit.of(pageSize));
+        String nextCursor = users.size() == pageSize ? users.get(users.size() - 1).id() : null;
+        return ResponseEntity.ok(new UserPageDTO(users, nextCursor));
+    }
+
+    @GetMapping("/users/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(Authentication authentication) {
+        String tenant = VerifiedToken.tenantOf(authentication);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> userExportService.writeNdjson(tenant, out));
+    }
+
+    @PostMapping(value = "/users/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportReportDTO> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                       InputStream body) throws IOException {
+        var format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+        return ResponseEntity.ok(userImportService.importUsers(TenantContext.current(), body, format));
     }
 }
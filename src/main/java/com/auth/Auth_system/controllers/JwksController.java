@@ -0,0 +1,25 @@
+package com.auth.Auth_system.controllers;
+
+import com.auth.Auth_system.infra.security.JwtKeyRing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+public class JwksController {
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        Map<String, Object> jwks = keyRing.jwks();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(keyRing.jwksMaxAge()).cachePublic())
+                .eTag(Integer.toHexString(jwks.hashCode()))
+                .body(jwks);
+    }
+}
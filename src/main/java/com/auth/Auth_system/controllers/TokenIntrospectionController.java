@@ -0,0 +1,69 @@
+package com.auth.Auth_system.controllers;
+
+import com.auth.Auth_system.domain.token.IntrospectionRequestDTO;
+import com.auth.Auth_system.domain.token.IntrospectionResponseDTO;
+import com.auth.Auth_system.domain.token.TokenIntrospectionDTO;
+import com.auth.Auth_system.domain.user.Permission;
+import com.auth.Auth_system.domain.user.PermissionHolder;
+import com.auth.Auth_system.infra.security.TokenIntrospector;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch token introspection for gateways and sidecars. The path is excluded from the Spring
+ * Security filter chain, so the caller's own bearer token is checked here and must grant
+ * {@link Permission#TOKENS_INTROSPECT}. Answers may be cached by the caller until the earliest
+ * expiry among the active tokens, capped by {@code api.security.introspection.max-age} so a
+ * revocation is seen within that bound.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TokenIntrospectionController {
+    @Value("${api.security.introspection.max-age:30s}")
+    private Duration maxAge;
+
+    @Autowired
+    private TokenIntrospector tokenIntrospector;
+
+    @PostMapping("/auth/introspect")
+    public ResponseEntity<IntrospectionResponseDTO> introspect(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                               @RequestBody @Valid IntrospectionRequestDTO data) {
+        UserDetails caller = tokenIntrospector.authenticate(authorization);
+        if (caller == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!(caller instanceof PermissionHolder holder) || !holder.roleDefinition().has(Permission.TOKENS_INTROSPECT)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        long now = System.currentTimeMillis() / 1000;
+        long maxAgeSeconds = maxAge.toSeconds();
+        List<TokenIntrospectionDTO> results = new ArrayList<>(data.tokens().size());
+        for (String token : data.tokens()) {
+            TokenIntrospectionDTO result = tokenIntrospector.introspect(token);
+            if (result.exp() != null) {
+                maxAgeSeconds = Math.min(maxAgeSeconds, Math.max(0, result.exp() - now));
+            }
+            results.add(result);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePrivate())
+                .body(new IntrospectionResponseDTO(results));
+    }
+}
@@ -0,0 +1,43 @@
+package com.auth.Auth_system.domain.audit;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Table(name = "audit_events", indexes = @Index(name = "ix_audit_events_tenant_login_occurred_at", columnList = "tenant, login, occurred_at"))
+@Entity(name = "audit_events")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class AuditEvent {
+    public static final int MAX_LOGIN_LENGTH = 320;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private AuditEventType type;
+    @Column(nullable = false, length = 63)
+    private String tenant;
+    @Column(length = MAX_LOGIN_LENGTH)
+    private String login;
+    @Column(length = 32)
+    private String detail;
+    @Column(name = "remote_address", length = 64)
+    private String remoteAddress;
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    public AuditEvent(AuditEventType type, String tenant, String login, String detail, String remoteAddress, Instant occurredAt) {
+        this.type = type;
+        this.tenant = tenant;
+        this.login = login;
+        this.detail = detail;
+        this.remoteAddress = remoteAddress;
+        this.occurredAt = occurredAt;
+    }
+}
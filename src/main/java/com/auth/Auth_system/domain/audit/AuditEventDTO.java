@@ -0,0 +1,6 @@
+package com.auth.Auth_system.domain.audit;
+
+import java.time.Instant;
+
+public record AuditEventDTO(AuditEventType type, String login, String detail, String remoteAddress, Instant occurredAt) {
+}
@@ -0,0 +1,8 @@
+package com.auth.Auth_system.domain.audit;
+
+public enum AuditEventType {
+    LOGIN_SUCCEEDED,
+    LOGIN_FAILED,
+    REGISTERED,
+    TOKEN_REJECTED
+}
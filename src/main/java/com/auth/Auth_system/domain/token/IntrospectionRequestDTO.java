@@ -0,0 +1,10 @@
+package com.auth.Auth_system.domain.token;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record IntrospectionRequestDTO(@NotEmpty @Size(max = IntrospectionRequestDTO.MAX_TOKENS) List<String> tokens) {
+    public static final int MAX_TOKENS = 100;
+}
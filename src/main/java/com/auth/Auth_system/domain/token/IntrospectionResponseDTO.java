@@ -0,0 +1,6 @@
+package com.auth.Auth_system.domain.token;
+
+import java.util.List;
+
+public record IntrospectionResponseDTO(List<TokenIntrospectionDTO> results) {
+}
@@ -0,0 +1,6 @@
+package com.auth.Auth_system.domain.token;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshRequestDTO(@NotBlank String refreshToken) {
+}
@@ -0,0 +1,42 @@
+package com.auth.Auth_system.domain.token;
+
+import com.auth.Auth_system.domain.user.User;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "ux_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "ix_refresh_tokens_user_id", columnList = "user_id"),
+        @Index(name = "ix_refresh_tokens_family_id", columnList = "family_id")
+})
+@Entity(name = "refresh_tokens")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    @Column(name = "family_id", nullable = false)
+    private String familyId;
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
+    public RefreshToken(String tokenHash, User user, String familyId, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.user = user;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,14 @@
+package com.auth.Auth_system.domain.token;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Introspection answer for a single token. Inactive tokens carry no other field, whatever the
+ * reason (bad signature, expired, revoked or unknown subject), and share one instance.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenIntrospectionDTO(boolean active, String sub, String tid, String role, List<String> authorities, Long exp) {
+    public static final TokenIntrospectionDTO INACTIVE = new TokenIntrospectionDTO(false, null, null, null, null, null);
+}
@@ -0,0 +1,23 @@
+package com.auth.Auth_system.domain.user;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Table(name = "roles")
+@Entity(name = "roles")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "name")
+public class CustomRole {
+    @Id
+    private String name;
+    @Column(nullable = false)
+    private long permissions;
+}
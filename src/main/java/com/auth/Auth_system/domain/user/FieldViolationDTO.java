@@ -0,0 +1,4 @@
+package com.auth.Auth_system.domain.user;
+
+public record FieldViolationDTO(String field, String message) {
+}
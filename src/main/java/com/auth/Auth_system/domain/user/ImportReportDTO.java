@@ -0,0 +1,6 @@
+package com.auth.Auth_system.domain.user;
+
+import java.util.List;
+
+public record ImportReportDTO(long processed, long imported, long failed, long elapsedMillis, double rowsPerSecond, List<ImportErrorDTO> errors) {
+}
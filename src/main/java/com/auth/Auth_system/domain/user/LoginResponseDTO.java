@@ -1,4 +1,4 @@
 package com.auth.Auth_system.domain.user;
 
-public record LoginResponseDTO(String token) {
+public record LoginResponseDTO(String token, String refreshToken) {
 }
@@ -0,0 +1,48 @@
+package com.auth.Auth_system.domain.user;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Fine-grained permissions. Each one owns a bit of a {@code long} mask, so a role's permissions
+ * are a single number and a check is one AND. Append new constants at the end: the ordinal is
+ * the bit, and masks are stored in the {@code roles} table.
+ */
+public enum Permission {
+    USERS_READ("users:read"),
+    USERS_IMPORT("users:import"),
+    TOKENS_INTROSPECT("tokens:introspect"),
+    AUDIT_READ("audit:read");
+
+    private final String authority;
+    private final GrantedAuthority grantedAuthority;
+
+    Permission(String authority) {
+        this.authority = authority;
+        this.grantedAuthority = new SimpleGrantedAuthority(authority);
+    }
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    public String getAuthority() {
+        return authority;
+    }
+
+    GrantedAuthority grantedAuthority() {
+        return grantedAuthority;
+    }
+
+    public static long mask(Permission... permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.bit();
+        }
+        return mask;
+    }
+
+    public static long all() {
+        return (1L << values().length) - 1;
+    }
+}
@@ -0,0 +1,5 @@
+package com.auth.Auth_system.domain.user;
+
+public interface PermissionHolder {
+    RoleDefinition roleDefinition();
+}
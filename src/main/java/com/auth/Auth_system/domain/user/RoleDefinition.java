@@ -0,0 +1,66 @@
+package com.auth.Auth_system.domain.user;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A role resolved once into everything an authorization check needs: the permission mask and
+ * the immutable authority list handed to Spring Security. Instances are shared by every
+ * principal holding the role.
+ */
+public final class RoleDefinition {
+    private final String name;
+    private final long permissions;
+    private final List<GrantedAuthority> authorities;
+    private final List<String> authorityNames;
+
+    public RoleDefinition(String name, long permissions, String... impliedRoles) {
+        this.name = name;
+        this.permissions = permissions;
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + name.toUpperCase(Locale.ROOT)));
+        for (String implied : impliedRoles) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + implied));
+        }
+        for (Permission permission : Permission.values()) {
+            if ((permissions & permission.bit()) != 0) {
+                authorities.add(permission.grantedAuthority());
+            }
+        }
+        this.authorities = List.copyOf(authorities);
+        this.authorityNames = authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long permissions() {
+        return permissions;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return authorities;
+    }
+
+    public List<String> authorityNames() {
+        return authorityNames;
+    }
+
+    public boolean has(Permission permission) {
+        return (permissions & permission.bit()) != 0;
+    }
+
+    public boolean hasAll(long mask) {
+        return (permissions & mask) == mask;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,34 +1,71 @@
 package com.auth.Auth_system.domain.user;
 
+import com.auth.Auth_system.infra.security.PrincipalCacheInvalidationListener;
+import com.auth.Auth_system.infra.security.RoleDefinitionConverter;
+import com.auth.Auth_system.infra.tenant.TenantContext;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Collection;
-import java.util.List;
 
-@Table(name = "users")
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = User.LOGIN_CONSTRAINT, columnNames = {"tenant", "login"}),
+        indexes = @Index(name = "ix_users_tenant_id", columnList = "tenant, id"))
 @Entity(name = "users")
+@EntityListeners(PrincipalCacheInvalidationListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.LOGIN_CACHE_REGION)
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(of = "id")
-public class User implements UserDetails {
+public class User implements UserDetails, PermissionHolder {
+    public static final String LOGIN_CONSTRAINT = "uk_users_tenant_login";
+    public static final String CACHE_REGION = "users";
+    public static final String LOGIN_CACHE_REGION = "users-by-login";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
+    @NaturalId
+    @Column(nullable = false)
+    private String tenant = TenantContext.DEFAULT_TENANT;
     private String name;
+    @NaturalId
+    @Column(nullable = false)
     private String login;
+    @Setter
     private String password;
     private UserRole role;
+    @Setter
+    private Instant lockedUntil;
+    @Convert(converter = RoleDefinitionConverter.class)
+    @Column(name = "custom_role")
+    private RoleDefinition customRole;
+
+    public User(String id, String name, String login, String password, UserRole role){
+        this(name, login, password, role);
+        this.id = id;
+    }
 
     public User(String name, String login, String password, UserRole role){
+        this(name, login, password, role, TenantContext.DEFAULT_TENANT);
+    }
+
+    public User(String name, String login, String password, UserRole role, String tenant){
+        this.tenant = tenant;
         this.name = name;
         this.login = login;
         this.password = password;
@@ -36,10 +73,14 @@ public class User implements UserDetails {
     }
 
 
+    @Override
+    public RoleDefinition roleDefinition() {
+        return customRole != null ? customRole : role.definition();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        if(this.role == UserRole.ADMIN) return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
-        else return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return roleDefinition().authorities();
     }
 
     @Override
@@ -59,7 +100,7 @@ public class User implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return true;
+        return lockedUntil == null || lockedUntil.isBefore(Instant.now());
     }
 
     @Override
@@ -1,16 +1,22 @@
 package com.auth.Auth_system.domain.user;
 
 public enum UserRole {
-    ADMIN("admin"),
-    USER("user");
+    ADMIN("admin", Permission.all(), "USER"),
+    USER("user", Permission.mask(Permission.USERS_READ));
 
     private String role;
+    private final RoleDefinition definition;
 
-    UserRole(String role){
+    UserRole(String role, long permissions, String... impliedRoles){
         this.role = role;
+        this.definition = new RoleDefinition(name(), permissions, impliedRoles);
     }
 
     public String getRole(){
         return role;
     }
+
+    public RoleDefinition definition(){
+        return definition;
+    }
 }
@@ -0,0 +1,4 @@
+package com.auth.Auth_system.domain.user;
+
+public record UserSummaryDTO(String id, String name, String login, UserRole role) {
+}
@@ -0,0 +1,6 @@
+package com.auth.Auth_system.domain.user;
+
+import java.util.List;
+
+public record ValidationErrorDTO(String message, List<FieldViolationDTO> errors) {
+}
@@ -1,7 +1,15 @@
 package com.auth.Auth_system.exceptions;
 
+import com.auth.Auth_system.domain.user.FieldViolationDTO;
+
+import java.util.List;
+
 public class EmailValidationException extends ValidationException {
     public EmailValidationException(String message) {
-        super(message);
+        super(message, List.of(new FieldViolationDTO("login", message)));
+    }
+
+    public EmailValidationException(String message, List<FieldViolationDTO> violations) {
+        super(message, violations);
     }
 }
@@ -1,7 +1,15 @@
 package com.auth.Auth_system.exceptions;
 
+import com.auth.Auth_system.domain.user.FieldViolationDTO;
+
+import java.util.List;
+
 public class PasswordValidationException extends ValidationException {
     public PasswordValidationException(String message) {
-        super(message);
+        super(message, List.of(new FieldViolationDTO("password", message)));
+    }
+
+    public PasswordValidationException(String message, List<FieldViolationDTO> violations) {
+        super(message, violations);
     }
 }
@@ -1,7 +1,22 @@
 package com.auth.Auth_system.exceptions;
 
+import com.auth.Auth_system.domain.user.FieldViolationDTO;
+
+import java.util.List;
+
 public class ValidationException extends RuntimeException {
+    private final List<FieldViolationDTO> violations;
+
     public ValidationException(String message) {
+        this(message, List.of(new FieldViolationDTO(null, message)));
+    }
+
+    public ValidationException(String message, List<FieldViolationDTO> violations) {
         super(message);
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<FieldViolationDTO> getViolations() {
+        return violations;
     }
 }
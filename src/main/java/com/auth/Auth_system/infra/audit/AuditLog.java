@@ -0,0 +1,112 @@
+package com.auth.Auth_system.infra.audit;
+
+import com.auth.Auth_system.domain.audit.AuditEvent;
+import com.auth.Auth_system.domain.audit.AuditEventType;
+import com.auth.Auth_system.exceptions.HashingCapacityExceededException;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Authentication activity on its way to {@code audit_events}. Recording only puts the event on a
+ * bounded lock-free buffer, so the request never waits for the database; the {@link AuditWriter}
+ * takes events off in batches. When the writer falls behind and the buffer is full, new events
+ * are dropped and counted in {@code auth.audit.events{outcome="dropped"}} rather than slowing
+ * logins down. Rejected tokens cost an attacker nothing to send, so they are only buffered while
+ * fewer than {@code token-rejections.max-backlog} events wait, keeping the rest for logins.
+ */
+@Component
+public class AuditLog {
+    private final RingBuffer<AuditEvent> buffer;
+    private final AuthMetrics authMetrics;
+    private final int rejectionBacklog;
+
+    private volatile Thread writer;
+    private volatile int wakeAt = Integer.MAX_VALUE;
+
+    public AuditLog(@Value("${api.audit.buffer-capacity:65536}") int capacity,
+                    @Value("${api.audit.token-rejections.max-backlog:16384}") int rejectionBacklog,
+                    AuthMetrics authMetrics) {
+        this.buffer = new RingBuffer<>(capacity);
+        this.authMetrics = authMetrics;
+        this.rejectionBacklog = rejectionBacklog;
+        authMetrics.monitorAuditBuffer(buffer, RingBuffer::size);
+    }
+
+    /**
+     * Records an event for the servlet request bound to the calling thread, if there is one.
+     */
+    public void record(AuditEventType type, String tenant, String login, String detail) {
+        record(type, tenant, login, detail, currentRemoteAddress());
+    }
+
+    public void record(AuditEventType type, String tenant, String login, String detail, String remoteAddress) {
+        if (login != null && login.length() > AuditEvent.MAX_LOGIN_LENGTH) {
+            login = login.substring(0, AuditEvent.MAX_LOGIN_LENGTH);
+        }
+        if (type == AuditEventType.TOKEN_REJECTED && buffer.size() >= rejectionBacklog) {
+            authMetrics.auditDropped();
+            return;
+        }
+        AuditEvent event = new AuditEvent(type, tenant != null ? tenant : TenantContext.DEFAULT_TENANT,
+                login, detail, remoteAddress, Instant.now());
+        if (!buffer.offer(event)) {
+            authMetrics.auditDropped();
+            return;
+        }
+        Thread waiting = writer;
+        if (waiting != null && buffer.size() >= wakeAt) {
+            LockSupport.unpark(waiting);
+        }
+    }
+
+    public int backlog() {
+        return buffer.size();
+    }
+
+    int drainTo(List<AuditEvent> target, int max) {
+        return buffer.drainTo(target, max);
+    }
+
+    /**
+     * Parks the writer until {@code events} are waiting or {@code timeout} passes.
+     */
+    void awaitBacklog(int events, Duration timeout) {
+        writer = Thread.currentThread();
+        wakeAt = events;
+        if (buffer.size() < events) {
+            LockSupport.parkNanos(this, timeout.toNanos());
+        }
+    }
+
+    public static String currentRemoteAddress() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getRemoteAddr()
+                : null;
+    }
+
+    public static String loginFailure(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof BadCredentialsException) {
+            return "bad-credentials";
+        }
+        if (cause instanceof LockedException) {
+            return "locked";
+        }
+        if (cause instanceof HashingCapacityExceededException) {
+            return "capacity";
+        }
+        return "error";
+    }
+}
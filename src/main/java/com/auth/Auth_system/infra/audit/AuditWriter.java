@@ -0,0 +1,84 @@
+package com.auth.Auth_system.infra.audit;
+
+import com.auth.Auth_system.domain.audit.AuditEvent;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.repositories.AuditEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single background thread that writes the {@link AuditLog} buffer to the database. It wakes up
+ * when a full batch is waiting or every {@code flush-interval}, and writes each batch in one
+ * transaction with JDBC batching. A batch that cannot be written is counted as failed and not
+ * retried, so a database outage cannot back the buffer up into the request path.
+ */
+@Component
+public class AuditWriter {
+    private static final Logger log = LoggerFactory.getLogger(AuditWriter.class);
+
+    @Value("${api.audit.batch-size:500}")
+    private int batchSize;
+    @Value("${api.audit.flush-interval:1s}")
+    private Duration flushInterval;
+
+    @Autowired
+    AuditLog auditLog;
+    @Autowired
+    AuditEventRepository repository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    AuthMetrics authMetrics;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @PostConstruct
+    void start() {
+        running = true;
+        thread = Thread.ofPlatform().daemon().name("audit-writer").start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(Duration.ofSeconds(10));
+    }
+
+    private void run() {
+        while (running) {
+            auditLog.awaitBacklog(batchSize, flushInterval);
+            flush();
+        }
+        flush();
+    }
+
+    /**
+     * Writes everything waiting in the buffer, one batch at a time.
+     */
+    void flush() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (auditLog.drainTo(batch, batchSize) > 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> repository.saveAll(batch));
+                authMetrics.auditWritten(batch.size());
+            } catch (RuntimeException e) {
+                authMetrics.auditFailed(batch.size());
+                log.warn("Could not write {} audit events", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.auth.Auth_system.infra.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The JDBC pool behind JPA, built from {@code spring.datasource.*}. It is declared here rather
+ * than left to Boot, which drops its DataSource as soon as an R2DBC connection factory exists.
+ * When {@code api.datasource.replica-urls} is set, each replica gets a read-only copy of the
+ * primary's Hikari settings pointed at its own URL, and JPA is given the routing data source.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Configuration
+    @ConditionalOnProperty("api.datasource.replica-urls")
+    static class ReplicaRoutingConfiguration {
+
+        @Bean(destroyMethod = "close")
+        public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                          @Value("${api.datasource.replica-urls}") List<String> replicaUrls,
+                                                          ObjectProvider<MeterRegistry> meterRegistry) {
+            List<DataSource> replicas = new ArrayList<>(replicaUrls.size());
+            for (int i = 0; i < replicaUrls.size(); i++) {
+                HikariConfig config = new HikariConfig();
+                primaryDataSource.copyStateTo(config);
+                config.setJdbcUrl(replicaUrls.get(i).trim());
+                config.setPoolName("replica-" + i);
+                config.setReadOnly(true);
+                meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+                replicas.add(new HikariDataSource(config));
+            }
+            return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+            return new LazyConnectionDataSourceProxy(routingDataSource);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.auth.Auth_system.infra.datasource;
+
+import com.auth.Auth_system.infra.security.BoundedCache;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Remembers logins written in the last {@code window} so that lookups for them go to the primary
+ * instead of a replica that may not have replicated the row yet. The window should cover the
+ * worst replication lag; after that the login is read from replicas like any other.
+ */
+@Component
+public class ReadYourWrites {
+    @Value("${api.datasource.replica-urls:}")
+    private List<String> replicaUrls;
+    @Value("${api.datasource.read-your-writes.window:5s}")
+    private Duration window;
+    @Value("${api.datasource.read-your-writes.max-size:100000}")
+    private int maxSize;
+
+    private BoundedCache<String, Boolean> recentWrites;
+
+    @PostConstruct
+    void init() {
+        this.recentWrites = new BoundedCache<>(maxSize, window);
+    }
+
+    public void written(String tenant, String login) {
+        if (!replicaUrls.isEmpty() && login != null) {
+            recentWrites.put(TenantContext.key(tenant, login), Boolean.TRUE);
+        }
+    }
+
+    public <T> T read(String tenant, String login, Supplier<T> lookup) {
+        if (!replicaUrls.isEmpty() && login != null && recentWrites.get(TenantContext.key(tenant, login)) != null) {
+            return ReplicaRoutingDataSource.onPrimary(lookup);
+        }
+        return lookup.get();
+    }
+}
@@ -0,0 +1,293 @@
+package com.auth.Auth_system.infra.metrics;
+
+import com.auth.Auth_system.infra.security.BoundedCache;
+import com.auth0.jwt.exceptions.AlgorithmMismatchException;
+import com.auth0.jwt.exceptions.IncorrectClaimException;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.MissingClaimException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Meters for the authentication hot paths. Every meter is created once here and only recorded
+ * on the request path; tags are limited to small fixed sets (never logins or tokens) so the
+ * Prometheus scrape stays small.
+ */
+@Component
+public class AuthMetrics {
+    private final MeterRegistry registry;
+    private final Timer tokenVerifyCached;
+    private final Timer tokenVerifyUncached;
+    private final Counter tokenExpired;
+    private final Counter tokenBadSignature;
+    private final Counter tokenBadAlgorithm;
+    private final Counter tokenBadClaim;
+    private final Counter tokenMalformed;
+    private final Counter tokenOther;
+    private final Counter tokenRevoked;
+    private final Timer userLookup;
+    private final Timer passwordHash;
+    private final Timer loginSuccess;
+    private final Timer loginFailure;
+    private final Counter registerCreated;
+    private final Counter registerConflict;
+    private final Counter throttledByIp;
+    private final Counter throttledByLogin;
+    private final Counter throttledLocked;
+    private final Counter accountsLocked;
+    private final Counter introspectedActive;
+    private final Counter introspectedInactive;
+    private final Counter stateSent;
+    private final Counter stateReceived;
+    private final Counter stateRejected;
+    private final Counter auditWritten;
+    private final Counter auditFailed;
+    private final Counter auditDropped;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.tokenVerifyCached = tokenVerifyTimer("hit");
+        this.tokenVerifyUncached = tokenVerifyTimer("miss");
+        this.tokenExpired = tokenFailureCounter("expired");
+        this.tokenBadSignature = tokenFailureCounter("signature");
+        this.tokenBadAlgorithm = tokenFailureCounter("algorithm");
+        this.tokenBadClaim = tokenFailureCounter("claim");
+        this.tokenMalformed = tokenFailureCounter("malformed");
+        this.tokenOther = tokenFailureCounter("other");
+        this.tokenRevoked = tokenFailureCounter("revoked");
+        this.userLookup = Timer.builder("auth.user.lookup")
+                .description("Time spent loading a user from the repository")
+                .register(registry);
+        this.passwordHash = Timer.builder("auth.password.hash")
+                .description("Time spent in a single password hash or verification")
+                .register(registry);
+        this.loginSuccess = loginTimer("success");
+        this.loginFailure = loginTimer("failure");
+        this.registerCreated = registerCounter("created");
+        this.registerConflict = registerCounter("conflict");
+        this.throttledByIp = throttledCounter("ip");
+        this.throttledByLogin = throttledCounter("login");
+        this.throttledLocked = throttledCounter("locked");
+        this.accountsLocked = Counter.builder("auth.lockouts")
+                .description("Accounts locked after repeated failed logins")
+                .register(registry);
+        this.introspectedActive = introspectionCounter("true");
+        this.introspectedInactive = introspectionCounter("false");
+        this.stateSent = stateMessageCounter("sent");
+        this.stateReceived = stateMessageCounter("received");
+        this.stateRejected = stateMessageCounter("rejected");
+        this.auditWritten = auditCounter("written");
+        this.auditFailed = auditCounter("failed");
+        this.auditDropped = auditCounter("dropped");
+    }
+
+    public void tokenVerified(long nanos, boolean cached) {
+        (cached ? tokenVerifyCached : tokenVerifyUncached).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void tokenRejected(JWTVerificationException exception) {
+        switch (rejectionReason(exception)) {
+            case "expired" -> tokenExpired.increment();
+            case "signature" -> tokenBadSignature.increment();
+            case "algorithm" -> tokenBadAlgorithm.increment();
+            case "claim" -> tokenBadClaim.increment();
+            case "malformed" -> tokenMalformed.increment();
+            default -> tokenOther.increment();
+        }
+    }
+
+    public static String rejectionReason(JWTVerificationException exception) {
+        if (exception instanceof TokenExpiredException) {
+            return "expired";
+        } else if (exception instanceof SignatureVerificationException) {
+            return "signature";
+        } else if (exception instanceof AlgorithmMismatchException) {
+            return "algorithm";
+        } else if (exception instanceof IncorrectClaimException || exception instanceof MissingClaimException) {
+            return "claim";
+        } else if (exception instanceof JWTDecodeException) {
+            return "malformed";
+        }
+        return "other";
+    }
+
+    public void tokenRevoked() {
+        tokenRevoked.increment();
+    }
+
+    public <T> T timeUserLookup(Supplier<T> lookup) {
+        return userLookup.record(lookup);
+    }
+
+    public void userLookedUp(long nanos) {
+        userLookup.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void passwordHashed(long nanos) {
+        passwordHash.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void login(long nanos, boolean success) {
+        (success ? loginSuccess : loginFailure).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void registered() {
+        registerCreated.increment();
+    }
+
+    public void registerConflict() {
+        registerConflict.increment();
+    }
+
+    public void loginThrottled(String reason) {
+        switch (reason) {
+            case "ip" -> throttledByIp.increment();
+            case "login" -> throttledByLogin.increment();
+            default -> throttledLocked.increment();
+        }
+    }
+
+    public void accountLocked() {
+        accountsLocked.increment();
+    }
+
+    public void tokenIntrospected(boolean active) {
+        (active ? introspectedActive : introspectedInactive).increment();
+    }
+
+    public void stateMessage(String outcome) {
+        switch (outcome) {
+            case "sent" -> stateSent.increment();
+            case "received" -> stateReceived.increment();
+            default -> stateRejected.increment();
+        }
+    }
+
+    public void auditWritten(int events) {
+        auditWritten.increment(events);
+    }
+
+    public void auditFailed(int events) {
+        auditFailed.increment(events);
+    }
+
+    public void auditDropped() {
+        auditDropped.increment();
+    }
+
+    public void monitorHashingPool(ThreadPoolExecutor executor, Supplier<Number> rejected) {
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Hashing tasks waiting for a worker")
+                .register(registry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        FunctionCounter.builder("auth.password.hash.rejected", rejected, r -> r.get().doubleValue())
+                .description("Hashing tasks rejected because the queue was full")
+                .register(registry);
+    }
+
+    public void monitorCache(String name, BoundedCache<?, ?> cache) {
+        monitorCache(name, cache, BoundedCache::stats);
+    }
+
+    /**
+     * Registers the cache meters against {@code owner}, which the registry only holds weakly, so
+     * it must be an object that lives as long as the cache.
+     */
+    public <T> void monitorCache(String name, T owner, Function<T, BoundedCache.Stats> stats) {
+        FunctionCounter.builder("auth.cache.requests", owner, o -> stats.apply(o).hits())
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.cache.requests", owner, o -> stats.apply(o).misses())
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("auth.cache.evictions", owner, o -> stats.apply(o).evictions())
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("auth.cache.size", owner, o -> stats.apply(o).size())
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    public <T> void monitorAuditBuffer(T buffer, ToDoubleFunction<T> size) {
+        Gauge.builder("auth.audit.buffer", buffer, size)
+                .description("Audit events waiting to be written")
+                .register(registry);
+    }
+
+    public void monitorPartitions(String name, Map<?, ?> partitions) {
+        Gauge.builder("auth.cache.partitions", partitions, Map::size)
+                .description("Tenants with a dedicated cache partition")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private Timer tokenVerifyTimer(String cache) {
+        return Timer.builder("auth.token.verify")
+                .description("Time spent verifying a bearer token")
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    private Counter tokenFailureCounter(String reason) {
+        return Counter.builder("auth.token.failures")
+                .description("Bearer tokens rejected during verification")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private Timer loginTimer(String outcome) {
+        return Timer.builder("auth.login")
+                .description("Time from login request to issued token or failure")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Counter throttledCounter(String reason) {
+        return Counter.builder("auth.login.throttled")
+                .description("Login requests rejected before authentication")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private Counter introspectionCounter(String active) {
+        return Counter.builder("auth.token.introspections")
+                .description("Tokens answered by the introspection endpoint")
+                .tag("active", active)
+                .register(registry);
+    }
+
+    private Counter stateMessageCounter(String outcome) {
+        return Counter.builder("auth.state.messages")
+                .description("Security state broadcasts between instances")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Counter auditCounter(String outcome) {
+        return Counter.builder("auth.audit.events")
+                .description("Audit events written, failed to write or dropped on a full buffer")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Counter registerCounter(String outcome) {
+        return Counter.builder("auth.register")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,181 @@
+package com.auth.Auth_system.infra.security;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Concurrent cache with a per-entry expiry and a hard size bound. Reads never lock; when the
+ * bound is reached a single writer sweeps expired entries and then trims the map to 90% of its
+ * capacity.
+ * <p>
+ * Loads are guarded against concurrent invalidation: {@link #invalidate} bumps a generation
+ * counter for the key's stripe, and a value loaded under an older generation is not kept, so a
+ * reader that fetched a row just before a write cannot pin it past the writer's invalidation.
+ */
+public class BoundedCache<K, V> {
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final int maxSize;
+    private final Duration ttl;
+
+    public BoundedCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            long generation = generation(key);
+            value = loader.apply(key);
+            if (value != null) {
+                putIfCurrent(key, value, generation);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Like {@link #get(Object, Function)}, but creates at most one value per live key. The
+     * factory runs under the map's bin lock, so it must be cheap.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        long now = System.currentTimeMillis();
+        return entries.compute(key, (k, existing) -> existing != null && existing.expiresAt() > now
+                ? existing
+                : new Entry<>(factory.apply(k), now + ttl.toMillis())).value();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    /**
+     * Stamp to take before loading a value that is stored later with {@link #putIfCurrent}.
+     */
+    public long generation(K key) {
+        return generations.get(stripe(key));
+    }
+
+    /**
+     * Stores a value loaded after {@link #generation} returned {@code generation}, unless the key
+     * was invalidated in the meantime. Returns whether the value was kept.
+     */
+    public boolean putIfCurrent(K key, V value, long generation) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        Entry<V> entry = new Entry<>(value, System.currentTimeMillis() + ttl.toMillis());
+        entries.put(key, entry);
+        // invalidate bumps the generation before removing, so either we see the bump here or its
+        // removal comes after our put
+        if (generations.get(stripe(key)) != generation) {
+            entries.remove(key, entry);
+            return false;
+        }
+        return true;
+    }
+
+    public void invalidate(K key) {
+        generations.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+
+    public void clear() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            int target = Math.max(1, maxSize - maxSize / 10);
+            Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().getValue().expiresAt() <= now) {
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+            it = entries.entrySet().iterator();
+            while (entries.size() >= target && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
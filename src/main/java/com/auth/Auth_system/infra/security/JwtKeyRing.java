@@ -0,0 +1,302 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Signing keys for access tokens. With HS256 the ring holds the shared secret and publishes
+ * nothing. With RS256 or ES256 it holds several key pairs, each identified by a {@code kid}:
+ * <ul>
+ *     <li>a pending key, published in the JWKS one rotation before it is used for signing;</li>
+ *     <li>the current signing key;</li>
+ *     <li>retired keys, kept until every token they signed has expired and every cached JWKS
+ *     has been refreshed.</li>
+ * </ul>
+ * Keys are generated in memory and rotated on a schedule. When {@code key-store} is set, the
+ * keys come from a PKCS12 store shared by all instances instead, and rotation is done by
+ * redeploying the store.
+ */
+@Component
+public class JwtKeyRing {
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    public enum SigningAlgorithm { HS256, RS256, ES256 }
+
+    private record SigningKey(String kid, KeyPair keyPair, Instant retiredAt) {
+        SigningKey retire(Instant at) {
+            return new SigningKey(kid, keyPair, at);
+        }
+    }
+
+    private record State(SigningKey signing, Algorithm signer, List<SigningKey> published, Map<String, Object> jwks) {
+        SigningKey find(String kid) {
+            for (SigningKey key : published) {
+                if (key.kid().equals(kid)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Value("${api.security.token.secret}")
+    private String secret;
+    @Value("${api.security.token.algorithm:HS256}")
+    private SigningAlgorithm signingAlgorithm;
+    @Value("${api.security.token.expiration:15m}")
+    private Duration expiration;
+    @Value("${api.security.token.claims-mode.expiration:15m}")
+    private Duration claimsModeExpiration;
+    @Value("${api.security.token.keys.jwks-max-age:5m}")
+    private Duration jwksMaxAge;
+    @Value("${api.security.token.keys.key-store:}")
+    private String keyStorePath;
+    @Value("${api.security.token.keys.key-store-password:}")
+    private String keyStorePassword;
+    @Value("${api.security.token.keys.signing-key-id:}")
+    private String signingKeyId;
+
+    private final ReentrantLock rotationLock = new ReentrantLock();
+    private volatile State state;
+    private Algorithm verifier;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException, IOException {
+        switch (signingAlgorithm) {
+            case HS256 -> {
+                this.verifier = Algorithm.HMAC256(secret);
+                this.state = new State(null, verifier, List.of(), Map.of("keys", List.of()));
+                return;
+            }
+            case RS256 -> this.verifier = rsa(kid -> state.find(kid), null);
+            case ES256 -> this.verifier = ecdsa(kid -> state.find(kid), null);
+        }
+        if (keyStorePath.isEmpty()) {
+            SigningKey signing = generate();
+            publish(signing, List.of(generate(), signing));
+        } else {
+            loadKeyStore();
+        }
+        log.info("Signing access tokens with {} ({} published keys)", signingAlgorithm, state.published().size());
+    }
+
+    /**
+     * Algorithm bound to the current signing key. Each key gets its own instance so the
+     * {@code kid} header and the signature can never come from different keys mid-rotation.
+     */
+    public Algorithm signer() {
+        return state.signer();
+    }
+
+    /**
+     * Algorithm that verifies tokens signed by any published key, resolved by {@code kid}.
+     */
+    public Algorithm verifier() {
+        return verifier;
+    }
+
+    public Map<String, Object> jwks() {
+        return state.jwks();
+    }
+
+    public Duration jwksMaxAge() {
+        return jwksMaxAge;
+    }
+
+    public String signingKeyId() {
+        return state.signing() != null ? state.signing().kid() : null;
+    }
+
+    @Scheduled(initialDelayString = "${api.security.token.keys.rotation-interval:1d}",
+            fixedDelayString = "${api.security.token.keys.rotation-interval:1d}")
+    public void rotate() throws GeneralSecurityException {
+        if (signingAlgorithm == SigningAlgorithm.HS256 || !keyStorePath.isEmpty()) {
+            return;
+        }
+        rotationLock.lock();
+        try {
+            Instant now = Instant.now();
+            Instant oldest = now.minus(retention());
+            State current = state;
+            SigningKey pending = current.published().get(0);
+            List<SigningKey> published = new ArrayList<>();
+            published.add(generate());
+            published.add(pending);
+            published.add(current.signing().retire(now));
+            for (SigningKey key : current.published()) {
+                if (key.retiredAt() != null && key.retiredAt().isAfter(oldest)) {
+                    published.add(key);
+                }
+            }
+            publish(pending, published);
+            log.info("Rotated token signing key to {}", pending.kid());
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    private Duration retention() {
+        Duration longest = expiration.compareTo(claimsModeExpiration) >= 0 ? expiration : claimsModeExpiration;
+        return longest.plus(jwksMaxAge);
+    }
+
+    private void publish(SigningKey signing, List<SigningKey> published) {
+        List<Map<String, Object>> keys = new ArrayList<>(published.size());
+        for (SigningKey key : published) {
+            keys.add(toJwk(key));
+        }
+        Algorithm signer = signingAlgorithm == SigningAlgorithm.RS256
+                ? rsa(kid -> signing.kid().equals(kid) ? signing : null, signing)
+                : ecdsa(kid -> signing.kid().equals(kid) ? signing : null, signing);
+        this.state = new State(signing, signer, List.copyOf(published), Map.of("keys", Collections.unmodifiableList(keys)));
+    }
+
+    private static Algorithm rsa(Function<String, SigningKey> publicKeys, SigningKey signing) {
+        return Algorithm.RSA256(new RSAKeyProvider() {
+            @Override
+            public RSAPublicKey getPublicKeyById(String kid) {
+                SigningKey key = publicKeys.apply(kid);
+                return key != null ? (RSAPublicKey) key.keyPair().getPublic() : null;
+            }
+
+            @Override
+            public RSAPrivateKey getPrivateKey() {
+                return signing != null ? (RSAPrivateKey) signing.keyPair().getPrivate() : null;
+            }
+
+            @Override
+            public String getPrivateKeyId() {
+                return signing != null ? signing.kid() : null;
+            }
+        });
+    }
+
+    private static Algorithm ecdsa(Function<String, SigningKey> publicKeys, SigningKey signing) {
+        return Algorithm.ECDSA256(new ECDSAKeyProvider() {
+            @Override
+            public ECPublicKey getPublicKeyById(String kid) {
+                SigningKey key = publicKeys.apply(kid);
+                return key != null ? (ECPublicKey) key.keyPair().getPublic() : null;
+            }
+
+            @Override
+            public ECPrivateKey getPrivateKey() {
+                return signing != null ? (ECPrivateKey) signing.keyPair().getPrivate() : null;
+            }
+
+            @Override
+            public String getPrivateKeyId() {
+                return signing != null ? signing.kid() : null;
+            }
+        });
+    }
+
+    private SigningKey generate() throws GeneralSecurityException {
+        KeyPairGenerator generator;
+        if (signingAlgorithm == SigningAlgorithm.RS256) {
+            generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+        } else {
+            generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        }
+        return new SigningKey(UUID.randomUUID().toString(), generator.generateKeyPair(), null);
+    }
+
+    private void loadKeyStore() throws GeneralSecurityException, IOException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        char[] password = keyStorePassword.toCharArray();
+        try (InputStream in = new FileInputStream(keyStorePath)) {
+            keyStore.load(in, password);
+        }
+        String keyType = signingAlgorithm == SigningAlgorithm.RS256 ? "RSA" : "EC";
+        List<SigningKey> published = new ArrayList<>();
+        SigningKey signing = null;
+        for (String alias : Collections.list(keyStore.aliases())) {
+            if (!keyStore.isKeyEntry(alias)) {
+                continue;
+            }
+            PrivateKey privateKey = (PrivateKey) keyStore.getKey(alias, password);
+            if (!keyType.equals(privateKey.getAlgorithm())) {
+                continue;
+            }
+            SigningKey key = new SigningKey(alias, new KeyPair(keyStore.getCertificate(alias).getPublicKey(), privateKey), null);
+            published.add(key);
+            if (alias.equals(signingKeyId) || (signing == null && signingKeyId.isEmpty())) {
+                signing = key;
+            }
+        }
+        if (signing == null) {
+            throw new IllegalStateException("No " + keyType + " signing key "
+                    + (signingKeyId.isEmpty() ? "" : "'" + signingKeyId + "' ") + "in " + keyStorePath);
+        }
+        publish(signing, published);
+    }
+
+    private Map<String, Object> toJwk(SigningKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", signingAlgorithm.name());
+        if (key.keyPair().getPublic() instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", encode(rsa.getModulus(), 0));
+            jwk.put("e", encode(rsa.getPublicExponent(), 0));
+        } else {
+            ECPublicKey ec = (ECPublicKey) key.keyPair().getPublic();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", encode(ec.getW().getAffineX(), 32));
+            jwk.put("y", encode(ec.getW().getAffineY(), 32));
+        }
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    private static String encode(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return BASE64URL.encodeToString(bytes);
+    }
+}
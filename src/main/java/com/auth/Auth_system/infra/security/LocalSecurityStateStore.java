@@ -0,0 +1,97 @@
+package com.auth.Auth_system.infra.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Single-instance state store: one map per region, swept of expired entries at most once a
+ * minute. {@link SharedSecurityStateStore} keeps one of these as its local replica.
+ */
+@Component
+@ConditionalOnProperty(name = "api.security.state.store", havingValue = "local", matchIfMissing = true)
+public class LocalSecurityStateStore implements SecurityStateStore {
+    private static final long SWEEP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Map<Region, ConcurrentHashMap<String, Long>> entries = new EnumMap<>(Region.class);
+    private final Map<Region, List<Consumer<String>>> listeners = new EnumMap<>(Region.class);
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private volatile long nextSweep;
+
+    public LocalSecurityStateStore() {
+        for (Region region : Region.values()) {
+            entries.put(region, new ConcurrentHashMap<>());
+            listeners.put(region, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    @Override
+    public void put(Region region, String key, Instant expiresAt) {
+        if (key != null && expiresAt != null) {
+            put(region, key, expiresAt.toEpochMilli());
+        }
+    }
+
+    void put(Region region, String key, long expiresAt) {
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now) {
+            return;
+        }
+        entries.get(region).merge(key, expiresAt, Math::max);
+        if (now >= nextSweep) {
+            sweep(now);
+        }
+    }
+
+    @Override
+    public Instant get(Region region, String key) {
+        if (key == null) {
+            return null;
+        }
+        Long expiresAt = entries.get(region).get(key);
+        return expiresAt != null && expiresAt > System.currentTimeMillis() ? Instant.ofEpochMilli(expiresAt) : null;
+    }
+
+    @Override
+    public void invalidate(Region region, String key) {
+        if (key == null) {
+            return;
+        }
+        for (Consumer<String> listener : listeners.get(region)) {
+            listener.accept(key);
+        }
+    }
+
+    @Override
+    public void onInvalidate(Region region, Consumer<String> listener) {
+        listeners.get(region).add(listener);
+    }
+
+    @Override
+    public int size(Region region) {
+        return entries.get(region).size();
+    }
+
+    private void sweep(long now) {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            nextSweep = now + SWEEP_INTERVAL_MILLIS;
+            for (ConcurrentHashMap<String, Long> region : entries.values()) {
+                region.values().removeIf(expiresAt -> expiresAt <= now);
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.security.SecurityStateStore.Region;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import com.auth.Auth_system.repositories.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts failed logins per tenant and account and locks the account once {@code max-failures} happen within
+ * the failure window. Locks live in the {@link SecurityStateStore}, so {@link RateLimitFilter}
+ * answers them from memory on every instance, and are persisted on the user so
+ * {@code User.isAccountNonLocked} holds across restarts. Failure counts stay per instance.
+ */
+@Component
+public class LoginAttemptTracker {
+    @Value("${api.security.lockout.max-failures:5}")
+    private int maxFailures;
+    @Value("${api.security.lockout.failure-window:15m}")
+    private Duration failureWindow;
+    @Value("${api.security.lockout.duration:15m}")
+    private Duration lockDuration;
+    @Value("${api.security.lockout.max-size:100000}")
+    private int maxSize;
+
+    @Autowired
+    UserRepository repository;
+    @Autowired
+    TaskExecutor taskExecutor;
+    @Autowired
+    AuthMetrics authMetrics;
+    @Autowired
+    SecurityStateStore stateStore;
+
+    private BoundedCache<String, AtomicInteger> failures;
+
+    @PostConstruct
+    void init() {
+        this.failures = new BoundedCache<>(maxSize, failureWindow);
+    }
+
+    public Instant lockedUntil(String tenant, String login) {
+        return login != null ? stateStore.get(Region.LOCKOUTS, TenantContext.key(tenant, login)) : null;
+    }
+
+    public void failed(String tenant, String login) {
+        if (login == null) {
+            return;
+        }
+        String key = TenantContext.key(tenant, login);
+        if (stateStore.get(Region.LOCKOUTS, key) != null) {
+            return;
+        }
+        if (failures.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet() < maxFailures) {
+            return;
+        }
+        failures.invalidate(key);
+        Instant until = Instant.now().plus(lockDuration);
+        stateStore.put(Region.LOCKOUTS, key, until);
+        authMetrics.accountLocked();
+        taskExecutor.execute(() -> repository.lockUntil(tenant, login, until));
+    }
+
+    public void succeeded(String tenant, String login) {
+        failures.invalidate(TenantContext.key(tenant, login));
+    }
+}
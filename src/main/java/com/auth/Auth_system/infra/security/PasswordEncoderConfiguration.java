@@ -0,0 +1,101 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Builds the delegating password encoder. The work factor of the encoder used for new hashes is
+ * calibrated on this host at startup so that one hash takes about {@code target-hash-time};
+ * hashes stored with a weaker policy are upgraded on the next successful login.
+ */
+@Configuration
+public class PasswordEncoderConfiguration {
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderConfiguration.class);
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    @Value("${api.security.password.algorithm:bcrypt}")
+    private String algorithm;
+    @Value("${api.security.password.calibrate:true}")
+    private boolean calibrate;
+    @Value("${api.security.password.target-hash-time:250ms}")
+    private Duration targetHashTime;
+    @Value("${api.security.password.bcrypt.strength:10}")
+    private int bcryptStrength;
+    @Value("${api.security.password.bcrypt.max-strength:16}")
+    private int bcryptMaxStrength;
+    @Value("${api.security.password.pbkdf2.iterations:310000}")
+    private int pbkdf2Iterations;
+    @Value("${api.security.password.argon2.iterations:2}")
+    private int argon2Iterations;
+    @Value("${api.security.password.argon2.memory-kib:19456}")
+    private int argon2MemoryKib;
+
+    @Bean
+    public PasswordEncoder passwordEncoder(AuthMetrics authMetrics) {
+        int bcrypt = bcryptStrength;
+        int pbkdf2 = pbkdf2Iterations;
+        int argon2 = argon2Iterations;
+        if (calibrate) {
+            switch (algorithm) {
+                case "bcrypt" -> bcrypt = calibrateBCrypt();
+                case "pbkdf2" -> pbkdf2 = calibrateLinear(pbkdf2Iterations, this::pbkdf2);
+                case "argon2" -> argon2 = calibrateLinear(argon2Iterations, this::argon2);
+                default -> throw new IllegalStateException("Unsupported password algorithm: " + algorithm);
+            }
+        }
+        log.info("Password hashing policy: algorithm={}, bcrypt strength={}, pbkdf2 iterations={}, argon2 iterations={}",
+                algorithm, bcrypt, pbkdf2, argon2);
+
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", new BCryptPasswordEncoder(bcrypt),
+                "pbkdf2", new Pbkdf2IterationsPasswordEncoder(pbkdf2, this::pbkdf2),
+                "argon2", argon2(argon2));
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return new TimedPasswordEncoder(encoder, authMetrics);
+    }
+
+    private int calibrateBCrypt() {
+        long elapsed = Math.max(1, measure(new BCryptPasswordEncoder(bcryptStrength)));
+        int strength = bcryptStrength;
+        while (strength < bcryptMaxStrength && elapsed * 2 <= targetHashTime.toNanos()) {
+            elapsed *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    private int calibrateLinear(int minimum, IntFunction<PasswordEncoder> factory) {
+        long elapsed = Math.max(1, measure(factory.apply(minimum)));
+        long scaled = minimum * targetHashTime.toNanos() / elapsed;
+        return (int) Math.max(minimum, Math.min(Integer.MAX_VALUE, scaled));
+    }
+
+    private PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKib, iterations);
+    }
+
+    private static long measure(PasswordEncoder encoder) {
+        encoder.encode(CALIBRATION_PASSWORD);
+        long start = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
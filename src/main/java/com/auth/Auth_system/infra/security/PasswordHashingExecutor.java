@@ -0,0 +1,127 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.exceptions.HashingCapacityExceededException;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification off the servlet threads, on a pool sized to the CPU
+ * count with a bounded queue. When the queue is full the task is rejected immediately instead of
+ * piling up behind the hashes already in flight. Bulk jobs only ever use {@code bulk-threads}
+ * of the workers, so an import cannot starve interactive logins.
+ */
+@Component
+public class PasswordHashingExecutor {
+    private static final int BULK_SLICE_SIZE = 4;
+
+    public record Stats(int poolSize, int activeThreads, int queueDepth, long completed, long rejected) {
+    }
+
+    @Value("${api.security.hashing.threads:0}")
+    private int threads;
+    @Value("${api.security.hashing.bulk-threads:0}")
+    private int bulkThreads;
+    @Value("${api.security.hashing.queue-capacity:256}")
+    private int queueCapacity;
+    @Value("${api.security.hashing.retry-after:1s}")
+    private Duration retryAfter;
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    private ThreadPoolExecutor executor;
+    private int bulkWorkers;
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.bulkWorkers = bulkThreads > 0 ? Math.min(bulkThreads, poolSize) : Math.max(1, poolSize / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        authMetrics.monitorHashingPool(executor, rejected::sum);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns a future that fails with {@link HashingCapacityExceededException} when the pool is
+     * full, so callers see the rejection in the same completion stages as any other failure.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return supplyAsync(task);
+        } catch (HashingCapacityExceededException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    /**
+     * Applies {@code hasher} to every item in small slices, keeping at most {@code bulk-threads}
+     * slices in flight. The other workers stay free for logins, and a login queued behind the
+     * job waits for one slice at most.
+     */
+    public <T, R> List<R> invokeAll(List<T> items, Function<T, R> hasher) {
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>((items.size() + BULK_SLICE_SIZE - 1) / BULK_SLICE_SIZE);
+        for (int from = 0; from < items.size(); from += BULK_SLICE_SIZE) {
+            if (futures.size() >= bulkWorkers) {
+                futures.get(futures.size() - bulkWorkers).join();
+            }
+            List<T> slice = items.subList(from, Math.min(items.size(), from + BULK_SLICE_SIZE));
+            futures.add(supplyAsync(() -> slice.stream().map(hasher).toList()));
+        }
+        List<R> results = new ArrayList<>(items.size());
+        for (CompletableFuture<List<R>> future : futures) {
+            results.addAll(future.join());
+        }
+        return results;
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException exception) {
+            rejected.increment();
+            throw new HashingCapacityExceededException("Too many concurrent authentication requests, please retry later.",
+                    Math.max(1, retryAfter.toSeconds()));
+        }
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public Stats stats() {
+        return new Stats(executor.getPoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+                executor.getCompletedTaskCount(), rejected.sum());
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.auth.Auth_system.infra.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.function.IntFunction;
+
+/**
+ * PBKDF2 with the iteration count written in front of the hash, {@code <iterations>$<hash>}, since
+ * Spring's encoder does not store it. Hashes keep verifying after the count is raised or
+ * recalibrated, and {@link #upgradeEncoding} can tell which ones used fewer iterations. Hashes
+ * without the prefix predate it; they are checked with the current count and always upgraded.
+ */
+final class Pbkdf2IterationsPasswordEncoder implements PasswordEncoder {
+    private static final char SEPARATOR = '$';
+
+    private final int iterations;
+    private final PasswordEncoder current;
+    private final IntFunction<PasswordEncoder> factory;
+
+    Pbkdf2IterationsPasswordEncoder(int iterations, IntFunction<PasswordEncoder> factory) {
+        this.iterations = iterations;
+        this.current = factory.apply(iterations);
+        this.factory = factory;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return iterations + String.valueOf(SEPARATOR) + current.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        int stored = iterations(encodedPassword);
+        if (stored < 0) {
+            return current.matches(rawPassword, encodedPassword);
+        }
+        String hash = encodedPassword.substring(encodedPassword.indexOf(SEPARATOR) + 1);
+        return (stored == iterations ? current : factory.apply(stored)).matches(rawPassword, hash);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encodedPassword != null && iterations(encodedPassword) < iterations;
+    }
+
+    private static int iterations(String encodedPassword) {
+        int separator = encodedPassword.indexOf(SEPARATOR);
+        if (separator <= 0) {
+            return -1;
+        }
+        try {
+            int stored = Integer.parseInt(encodedPassword, 0, separator, 10);
+            return stored > 0 ? stored : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
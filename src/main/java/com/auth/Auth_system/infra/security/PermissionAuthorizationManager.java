@@ -0,0 +1,62 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.Permission;
+import com.auth.Auth_system.domain.user.PermissionHolder;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Grants access when the principal holds every required permission. Principals backed by a
+ * {@link com.auth.Auth_system.domain.user.RoleDefinition} are checked with a single mask test;
+ * anything else falls back to matching authority names.
+ */
+public final class PermissionAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final long mask;
+    private final Set<String> authorities;
+
+    private PermissionAuthorizationManager(Permission... permissions) {
+        this.mask = Permission.mask(permissions);
+        this.authorities = Stream.of(permissions).map(Permission::getAuthority).collect(Collectors.toUnmodifiableSet());
+    }
+
+    public static PermissionAuthorizationManager requires(Permission... permissions) {
+        return new PermissionAuthorizationManager(permissions);
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated()) {
+            return DENIED;
+        }
+        if (current.getPrincipal() instanceof PermissionHolder holder) {
+            return holder.roleDefinition().hasAll(mask) ? GRANTED : DENIED;
+        }
+        long granted = current.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authorities::contains)
+                .count();
+        return granted == authorities.size() ? GRANTED : DENIED;
+    }
+
+    /**
+     * @deprecated still abstract in {@link AuthorizationManager}; Spring Security calls {@link #authorize}.
+     */
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return (AuthorizationDecision) authorize(authentication, context);
+    }
+}
@@ -0,0 +1,185 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Principals by tenant and login. Every tenant gets its own partition bounded by
+ * {@code max-size}, so a tenant with many active users only evicts its own entries. Partitions
+ * are created on first use up to {@code max-tenants}; tenants past that share one overflow
+ * partition of the same size.
+ * <p>
+ * An invalidation, local or from a peer, also evicts the user from Hibernate's second-level
+ * {@code users} and {@code users-by-login} regions, which are per instance as well; otherwise a
+ * reload would be answered from the stale entity.
+ */
+@Component
+public class PrincipalCache {
+    @Value("${api.security.principal-cache.ttl:5m}")
+    private Duration ttl;
+    @Value("${api.security.principal-cache.max-size:10000}")
+    private int maxSize;
+    @Value("${api.security.principal-cache.max-tenants:100}")
+    private int maxTenants;
+    @Autowired
+    private AuthMetrics authMetrics;
+    @Autowired
+    private SecurityStateStore stateStore;
+    @Autowired
+    private ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private final ConcurrentHashMap<String, BoundedCache<String, UserDetails>> partitions = new ConcurrentHashMap<>();
+    private BoundedCache<String, UserDetails> overflow;
+
+    @PostConstruct
+    void init() {
+        this.overflow = new BoundedCache<>(maxSize, ttl);
+        authMetrics.monitorCache("principal", this, PrincipalCache::stats);
+        authMetrics.monitorPartitions("principal", partitions);
+        stateStore.onInvalidate(SecurityStateStore.Region.PRINCIPALS, key -> {
+            int slash = key.indexOf('/');
+            String tenant = key.substring(0, slash);
+            String login = key.substring(slash + 1);
+            invalidate(tenant, login);
+            evictEntity(tenant, login);
+        });
+    }
+
+    public UserDetails get(String tenant, String login, Function<String, UserDetails> loader) {
+        if (login == null || login.isEmpty()) {
+            return null;
+        }
+        BoundedCache<String, UserDetails> partition = partition(tenant);
+        return partition.get(keyIn(partition, tenant, login), key -> loader.apply(login));
+    }
+
+    public UserDetails getIfPresent(String tenant, String login) {
+        if (login == null || login.isEmpty()) {
+            return null;
+        }
+        BoundedCache<String, UserDetails> partition = existing(tenant);
+        return partition.get(keyIn(partition, tenant, login));
+    }
+
+    public void put(String tenant, String login, UserDetails user) {
+        if (login != null && user != null) {
+            BoundedCache<String, UserDetails> partition = partition(tenant);
+            partition.put(keyIn(partition, tenant, login), user);
+        }
+    }
+
+    /**
+     * Stamp to take before an asynchronous load that ends in {@link #putIfCurrent}.
+     */
+    public long generation(String tenant, String login) {
+        BoundedCache<String, UserDetails> partition = partition(tenant);
+        return partition.generation(keyIn(partition, tenant, login));
+    }
+
+    /**
+     * Caches a principal loaded after {@link #generation} returned {@code generation}; it is
+     * dropped if the login was invalidated while it was being loaded.
+     */
+    public void putIfCurrent(String tenant, String login, UserDetails user, long generation) {
+        if (login != null && user != null) {
+            BoundedCache<String, UserDetails> partition = partition(tenant);
+            partition.putIfCurrent(keyIn(partition, tenant, login), user, generation);
+        }
+    }
+
+    public void invalidate(String tenant, String login) {
+        if (login != null) {
+            BoundedCache<String, UserDetails> partition = existing(tenant);
+            partition.invalidate(keyIn(partition, tenant, login));
+        }
+    }
+
+    public void invalidateAll() {
+        partitions.values().forEach(BoundedCache::clear);
+        overflow.clear();
+    }
+
+    public BoundedCache.Stats stats() {
+        BoundedCache.Stats shared = overflow.stats();
+        long hits = shared.hits();
+        long misses = shared.misses();
+        long evictions = shared.evictions();
+        int size = shared.size();
+        for (BoundedCache<String, UserDetails> partition : partitions.values()) {
+            BoundedCache.Stats stats = partition.stats();
+            hits += stats.hits();
+            misses += stats.misses();
+            evictions += stats.evictions();
+            size += stats.size();
+        }
+        return new BoundedCache.Stats(hits, misses, evictions, size);
+    }
+
+    /**
+     * Evicts the cached natural id resolution and, if it was cached, the entity it points to.
+     * Neither touches the database.
+     */
+    private void evictEntity(String tenant, String login) {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory == null) {
+            return;
+        }
+        SessionFactoryImplementor sessionFactory = factory.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(User.class);
+        if (!persister.hasNaturalIdCache()) {
+            return;
+        }
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdCacheAccessStrategy();
+        Object naturalId = persister.getNaturalIdMapping().normalizeInput(Map.of("tenant", tenant, "login", login));
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Object cacheKey = naturalIds.generateCacheKey(naturalId, persister, (SharedSessionContractImplementor) session);
+            Object id = naturalIds.get((SharedSessionContractImplementor) session, cacheKey);
+            naturalIds.evict(cacheKey);
+            if (id != null) {
+                sessionFactory.getCache().evictEntityData(User.class, id);
+            }
+        }
+    }
+
+    private BoundedCache<String, UserDetails> partition(String tenant) {
+        BoundedCache<String, UserDetails> partition = partitions.get(tenant);
+        if (partition != null) {
+            return partition;
+        }
+        if (partitions.size() >= maxTenants) {
+            return overflow;
+        }
+        return partitions.computeIfAbsent(tenant, t -> new BoundedCache<>(maxSize, ttl));
+    }
+
+    /**
+     * Logins are unique within a tenant's own partition; the shared overflow partition needs the
+     * tenant in the key.
+     */
+    private String keyIn(BoundedCache<String, UserDetails> partition, String tenant, String login) {
+        return partition == overflow ? TenantContext.key(tenant, login) : login;
+    }
+
+    private BoundedCache<String, UserDetails> existing(String tenant) {
+        BoundedCache<String, UserDetails> partition = partitions.get(tenant);
+        return partition != null ? partition : overflow;
+    }
+}
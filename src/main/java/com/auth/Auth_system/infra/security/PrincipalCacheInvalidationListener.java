@@ -0,0 +1,52 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.infra.security.SecurityStateStore.Region;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops cached principals whenever a user row is updated or removed. Inserts are skipped: the
+ * cache never holds a login it did not find, so a new row has nothing to evict, and a bulk
+ * import would otherwise broadcast one invalidation per row. The entry is evicted immediately and
+ * once more after commit, so a request that reloads the row mid-transaction cannot pin the old
+ * role in the cache. The after-commit eviction goes through the {@link SecurityStateStore} so
+ * the other instances drop their copy too.
+ */
+@Component
+public class PrincipalCacheInvalidationListener {
+    private final PrincipalCache principalCache;
+    private final SecurityStateStore stateStore;
+
+    // Hibernate builds its own instance through the bean factory; with AOT-generated bean
+    // definitions only constructor autowiring is applied to it, field injection is not
+    @Autowired
+    public PrincipalCacheInvalidationListener(PrincipalCache principalCache, SecurityStateStore stateStore) {
+        this.principalCache = principalCache;
+        this.stateStore = stateStore;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String tenant = user.getTenant();
+        String login = user.getLogin();
+        principalCache.invalidate(tenant, login);
+        String key = TenantContext.key(tenant, login);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stateStore.invalidate(Region.PRINCIPALS, key);
+                }
+            });
+        } else {
+            stateStore.invalidate(Region.PRINCIPALS, key);
+        }
+    }
+}
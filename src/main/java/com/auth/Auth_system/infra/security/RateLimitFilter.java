@@ -0,0 +1,201 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.audit.AuditEventType;
+import com.auth.Auth_system.infra.audit.AuditLog;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles {@code POST /auth/login} per client IP and per tenant and login, and turns away locked accounts,
+ * before the request reaches the password hashing pool.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final int MAX_LOGIN_BODY = 8 * 1024;
+
+    @Value("${api.security.rate-limit.enabled:true}")
+    private boolean enabled;
+    @Value("${api.security.rate-limit.ip.capacity:50}")
+    private int ipCapacity;
+    @Value("${api.security.rate-limit.ip.period:1m}")
+    private Duration ipPeriod;
+    @Value("${api.security.rate-limit.login.capacity:10}")
+    private int loginCapacity;
+    @Value("${api.security.rate-limit.login.period:1m}")
+    private Duration loginPeriod;
+    @Value("${api.security.rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Autowired
+    LoginAttemptTracker loginAttempts;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    AuthMetrics authMetrics;
+    @Autowired
+    AuditLog auditLog;
+
+    private RateLimiter ipLimiter;
+    private RateLimiter loginLimiter;
+
+    @PostConstruct
+    void init() {
+        this.ipLimiter = new RateLimiter(ipCapacity, ipPeriod, maxKeys);
+        this.loginLimiter = new RateLimiter(loginCapacity, loginPeriod, maxKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || !"/auth/login".equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long wait = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(response, "ip", wait);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_LOGIN_BODY + 1);
+        if (body.length > MAX_LOGIN_BODY) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        String login = readLogin(body);
+        if (login != null) {
+            String tenant = TenantContext.current();
+            Instant lockedUntil = loginAttempts.lockedUntil(tenant, login);
+            if (lockedUntil != null) {
+                auditLog.record(AuditEventType.LOGIN_FAILED, tenant, login, "locked", request.getRemoteAddr());
+                reject(response, "locked", TimeUnit.MILLISECONDS.toNanos(lockedUntil.toEpochMilli() - System.currentTimeMillis()));
+                return;
+            }
+            wait = loginLimiter.tryAcquire(TenantContext.key(tenant, login.toLowerCase(Locale.ROOT)));
+            if (wait > 0) {
+                reject(response, "login", wait);
+                return;
+            }
+        }
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private String readLogin(byte[] body) {
+        try {
+            JsonNode login = objectMapper.readTree(body).path("login");
+            return login.isTextual() ? login.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, String reason, long waitNanos) throws IOException {
+        authMetrics.loginThrottled(reason);
+        long retryAfter = Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(reason.equals("locked")
+                ? "Account temporarily locked after repeated failed logins."
+                : "Too many login attempts, try again later.");
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so it is available at once and the
+                 * listener is called back on the calling thread.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    Objects.requireNonNull(listener, "listener");
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            listener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
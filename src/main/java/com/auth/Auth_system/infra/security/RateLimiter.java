@@ -0,0 +1,78 @@
+package com.auth.Auth_system.infra.security;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keyed token buckets implemented with GCRA: each key only stores the theoretical arrival time
+ * of its next request, advanced with a CAS. A key whose arrival time is in the past holds a full
+ * bucket, so the sweep that keeps the map bounded drops those entries first without losing state.
+ */
+public class RateLimiter {
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxKeys;
+
+    public RateLimiter(int capacity, Duration period, int maxKeys) {
+        if (capacity <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("capacity and maxKeys must be positive");
+        }
+        this.intervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.toleranceNanos = intervalNanos * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one permit for {@code key}.
+     *
+     * @return 0 when the permit was granted, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxKeys) {
+                evict(now);
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = tat.get();
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            long wait = next - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evict(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(tat -> tat.get() - now <= 0);
+            int target = Math.max(1, maxKeys - maxKeys / 10);
+            Iterator<Map.Entry<String, AtomicLong>> it = buckets.entrySet().iterator();
+            while (buckets.size() >= target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
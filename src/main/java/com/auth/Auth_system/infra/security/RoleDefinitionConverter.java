@@ -0,0 +1,36 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.RoleDefinition;
+import jakarta.persistence.AttributeConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Maps a role name column to the shared {@link RoleDefinition}. A name the registry does not know
+ * yet resolves to a role without permissions, which keeps the name intact on write-back.
+ */
+public class RoleDefinitionConverter implements AttributeConverter<RoleDefinition, String> {
+    private final ObjectProvider<RoleRegistry> roleRegistry;
+
+    // Hibernate builds the converter through the bean factory while the entity manager factory is
+    // being created, before the registry and its repository exist, so the registry is looked up on
+    // first use; with AOT-generated bean definitions only constructor autowiring is applied
+    @Autowired
+    public RoleDefinitionConverter(ObjectProvider<RoleRegistry> roleRegistry) {
+        this.roleRegistry = roleRegistry;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(RoleDefinition role) {
+        return role != null ? role.name() : null;
+    }
+
+    @Override
+    public RoleDefinition convertToEntityAttribute(String name) {
+        if (name == null) {
+            return null;
+        }
+        RoleDefinition role = roleRegistry.getObject().resolve(name);
+        return role != null ? role : new RoleDefinition(name, 0);
+    }
+}
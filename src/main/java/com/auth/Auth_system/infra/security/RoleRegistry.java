@@ -0,0 +1,64 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.CustomRole;
+import com.auth.Auth_system.domain.user.RoleDefinition;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.repositories.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Every role known to the application, by name: the built-in {@link UserRole}s plus custom roles
+ * from the {@code roles} table. The map is immutable and replaced as a whole on reload, so
+ * lookups are a plain read and the resolved definitions are shared by every principal.
+ */
+@Component
+public class RoleRegistry {
+    private static final Logger log = LoggerFactory.getLogger(RoleRegistry.class);
+
+    @Autowired
+    RoleRepository repository;
+    @Autowired
+    PrincipalCache principalCache;
+
+    private volatile Map<String, RoleDefinition> roles = builtIns();
+
+    public RoleDefinition resolve(String name) {
+        return name != null ? roles.get(name) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.roles.refresh-interval:5m}")
+    public void reload() {
+        Map<String, RoleDefinition> next = builtIns();
+        for (CustomRole role : repository.findAll()) {
+            if (next.containsKey(role.getName())) {
+                log.warn("Ignoring custom role {}: the name is reserved by a built-in role", role.getName());
+                continue;
+            }
+            RoleDefinition current = roles.get(role.getName());
+            next.put(role.getName(), current != null && current.permissions() == role.getPermissions()
+                    ? current
+                    : new RoleDefinition(role.getName(), role.getPermissions()));
+        }
+        Map<String, RoleDefinition> previous = roles;
+        roles = Map.copyOf(next);
+        if (!previous.equals(roles)) {
+            principalCache.invalidateAll();
+            log.info("Loaded {} roles", roles.size());
+        }
+    }
+
+    private static Map<String, RoleDefinition> builtIns() {
+        Map<String, RoleDefinition> roles = new HashMap<>();
+        for (UserRole role : UserRole.values()) {
+            roles.put(role.name(), role.definition());
+        }
+        return roles;
+    }
+}
@@ -0,0 +1,37 @@
+package com.auth.Auth_system.infra.security;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Authentication state that every instance has to agree on: revoked access tokens, account locks
+ * and principal invalidations. Reads are always answered from process memory so the request path
+ * never waits on the network; implementations differ only in how writes reach the other nodes.
+ */
+public interface SecurityStateStore {
+
+    enum Region {
+        REVOKED_TOKENS,
+        LOCKOUTS,
+        PRINCIPALS
+    }
+
+    /**
+     * Records {@code key} until {@code expiresAt}. Entries are never dropped before they expire.
+     */
+    void put(Region region, String key, Instant expiresAt);
+
+    /**
+     * Expiry of the live entry for {@code key}, or {@code null}.
+     */
+    Instant get(Region region, String key);
+
+    /**
+     * Tells the listeners of {@code region} on every node to forget {@code key}.
+     */
+    void invalidate(Region region, String key);
+
+    void onInvalidate(Region region, Consumer<String> listener);
+
+    int size(Region region);
+}
@@ -0,0 +1,295 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * State store for several instances behind a load balancer. Every node answers reads from its
+ * own {@link LocalSecurityStateStore}; writes are applied locally, sent to the configured peers
+ * as a signed UDP datagram and persisted to {@code security_state}. Datagrams can be lost, so
+ * each node also replays recently written rows every {@code sync-interval}, and loads all live
+ * rows on startup. Invalidations are broadcast only: a missed one is bounded by the cache TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "api.security.state.store", havingValue = "shared")
+public class SharedSecurityStateStore implements SecurityStateStore {
+    private static final Logger log = LoggerFactory.getLogger(SharedSecurityStateStore.class);
+    private static final byte VERSION = 1;
+    private static final byte PUT = 0;
+    private static final byte INVALIDATE = 1;
+    private static final int MAX_KEY_LENGTH = 320;
+    private static final int MAC_BYTES = 32;
+    private static final int MAX_MESSAGE_BYTES = 2048;
+
+    @Value("${api.security.state.broadcast.bind-address:0.0.0.0}")
+    private String bindAddress;
+    @Value("${api.security.state.broadcast.port:7946}")
+    private int port;
+    @Value("${api.security.state.broadcast.peers:}")
+    private List<String> peers;
+    @Value("${api.security.state.broadcast.secret:}")
+    private String secret;
+    @Value("${api.security.state.sync-interval:30s}")
+    private Duration syncInterval;
+
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    TaskExecutor taskExecutor;
+    @Autowired
+    AuthMetrics authMetrics;
+
+    private final LocalSecurityStateStore local = new LocalSecurityStateStore();
+    private JdbcTemplate jdbcTemplate;
+    private List<InetSocketAddress> peerAddresses;
+    private SecretKeySpec key;
+    private DatagramSocket socket;
+    private long lastSync;
+
+    @PostConstruct
+    void init() throws SocketException {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("api.security.state.broadcast.secret must be set for the shared state store.");
+        }
+        // Built here rather than injected: the shared JdbcTemplate waits for database
+        // initialization, which waits for JPA, whose entity listener needs this store.
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.peerAddresses = new ArrayList<>();
+        for (String peer : peers) {
+            int colon = peer.lastIndexOf(':');
+            peerAddresses.add(colon < 0
+                    ? new InetSocketAddress(peer.trim(), port)
+                    : new InetSocketAddress(peer.substring(0, colon).trim(), Integer.parseInt(peer.substring(colon + 1).trim())));
+        }
+        this.socket = new DatagramSocket(new InetSocketAddress(bindAddress, port));
+        sync();
+        Thread.ofPlatform().daemon().name("security-state-receiver").start(this::receive);
+    }
+
+    @PreDestroy
+    void close() {
+        socket.close();
+    }
+
+    @Override
+    public void put(Region region, String key, Instant expiresAt) {
+        if (key == null || expiresAt == null || key.length() > MAX_KEY_LENGTH) {
+            return;
+        }
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        local.put(region, key, expiresAtMillis);
+        broadcast(PUT, region, key, expiresAtMillis);
+        taskExecutor.execute(() -> persist(region, key, expiresAtMillis));
+    }
+
+    @Override
+    public Instant get(Region region, String key) {
+        return local.get(region, key);
+    }
+
+    @Override
+    public void invalidate(Region region, String key) {
+        if (key == null || key.length() > MAX_KEY_LENGTH) {
+            return;
+        }
+        local.invalidate(region, key);
+        broadcast(INVALIDATE, region, key, 0);
+    }
+
+    @Override
+    public void onInvalidate(Region region, Consumer<String> listener) {
+        local.onInvalidate(region, listener);
+    }
+
+    @Override
+    public int size(Region region) {
+        return local.size(region);
+    }
+
+    /**
+     * Replays rows written since the previous sync, overlapping it by one interval so rows
+     * committed late or stamped by a slightly slower clock are not skipped.
+     */
+    @Scheduled(initialDelayString = "${api.security.state.sync-interval:30s}", fixedDelayString = "${api.security.state.sync-interval:30s}")
+    void sync() {
+        long now = System.currentTimeMillis();
+        try {
+            jdbcTemplate.update("delete from security_state where expires_at <= ?", now);
+            long since = lastSync == 0 ? 0 : lastSync - syncInterval.toMillis();
+            jdbcTemplate.query("select region, state_key, expires_at from security_state where updated_at > ?", row -> {
+                Region region = region(row.getString("region"));
+                if (region != null) {
+                    local.put(region, row.getString("state_key"), row.getLong("expires_at"));
+                }
+            }, since);
+            lastSync = now;
+        } catch (DataAccessException e) {
+            log.warn("Could not sync security state, keeping the local copy", e);
+        }
+    }
+
+    private void persist(Region region, String key, long expiresAt) {
+        long now = System.currentTimeMillis();
+        String update = "update security_state set expires_at = ?, updated_at = ? where region = ? and state_key = ? and expires_at < ?";
+        try {
+            if (jdbcTemplate.update(update, expiresAt, now, region.name(), key, expiresAt) > 0 || exists(region, key)) {
+                return;
+            }
+            jdbcTemplate.update("insert into security_state (region, state_key, expires_at, updated_at) values (?, ?, ?, ?)",
+                    region.name(), key, expiresAt, now);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update(update, expiresAt, now, region.name(), key, expiresAt);
+        } catch (DataAccessException e) {
+            log.warn("Could not persist {} entry; peers that missed the broadcast will not see it", region, e);
+        }
+    }
+
+    private boolean exists(Region region, String key) {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from security_state where region = ? and state_key = ?",
+                Integer.class, region.name(), key);
+        return count != null && count > 0;
+    }
+
+    private void broadcast(byte operation, Region region, String key, long expiresAt) {
+        if (peerAddresses.isEmpty()) {
+            return;
+        }
+        byte[] message = sign(encode(operation, region, key, expiresAt));
+        for (InetSocketAddress peer : peerAddresses) {
+            try {
+                socket.send(new DatagramPacket(message, message.length, peer));
+                authMetrics.stateMessage("sent");
+            } catch (IOException e) {
+                log.debug("Could not send security state to {}", peer, e);
+            }
+        }
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_MESSAGE_BYTES];
+        while (!socket.isClosed()) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Security state receiver failed", e);
+                }
+                continue;
+            }
+            try {
+                apply(Arrays.copyOf(packet.getData(), packet.getLength()));
+            } catch (RuntimeException e) {
+                log.warn("Could not apply security state message", e);
+            }
+        }
+    }
+
+    private void apply(byte[] message) {
+        if (message.length <= MAC_BYTES) {
+            authMetrics.stateMessage("rejected");
+            return;
+        }
+        byte[] payload = Arrays.copyOf(message, message.length - MAC_BYTES);
+        byte[] mac = Arrays.copyOfRange(message, payload.length, message.length);
+        if (!MessageDigest.isEqual(mac, mac(payload))) {
+            authMetrics.stateMessage("rejected");
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != VERSION) {
+                authMetrics.stateMessage("rejected");
+                return;
+            }
+            byte operation = in.readByte();
+            Region region = region(in.readUTF());
+            String key = in.readUTF();
+            long expiresAt = in.readLong();
+            if (region == null) {
+                authMetrics.stateMessage("rejected");
+                return;
+            }
+            if (operation == PUT) {
+                local.put(region, key, expiresAt);
+            } else if (operation == INVALIDATE) {
+                local.invalidate(region, key);
+            }
+            authMetrics.stateMessage("received");
+        } catch (IOException e) {
+            authMetrics.stateMessage("rejected");
+        }
+    }
+
+    private static byte[] encode(byte operation, Region region, String key, long expiresAt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + key.length());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(operation);
+            out.writeUTF(region.name());
+            out.writeUTF(key);
+            out.writeLong(expiresAt);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] sign(byte[] payload) {
+        byte[] message = Arrays.copyOf(payload, payload.length + MAC_BYTES);
+        System.arraycopy(mac(payload), 0, message, payload.length, MAC_BYTES);
+        return message;
+    }
+
+    private byte[] mac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Region region(String name) {
+        try {
+            return Region.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Records each {@code encode} and {@code matches} call in {@code auth.password.hash}, and nothing
+ * around it, so the timer measures the work factor alone: not the user lookup of a login, not a
+ * whole import slice, and not the time a task waited for a worker.
+ */
+final class TimedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final AuthMetrics authMetrics;
+
+    TimedPasswordEncoder(PasswordEncoder delegate, AuthMetrics authMetrics) {
+        this.delegate = delegate;
+        this.authMetrics = authMetrics;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            authMetrics.passwordHashed(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            authMetrics.passwordHashed(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
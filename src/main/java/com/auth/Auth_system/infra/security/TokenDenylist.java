@@ -0,0 +1,34 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.infra.security.SecurityStateStore.Region;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Revoked access token ids, kept only until the token would have expired anyway. Lookups are a
+ * single map read so revocation adds no database round trip to authenticated requests. Entries
+ * are never trimmed early: dropping one would silently reinstate a revoked token.
+ */
+@Component
+public class TokenDenylist {
+    private final SecurityStateStore stateStore;
+
+    public TokenDenylist(SecurityStateStore stateStore) {
+        this.stateStore = stateStore;
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti != null && expiresAt != null && expiresAt.toEpochMilli() > System.currentTimeMillis()) {
+            stateStore.put(Region.REVOKED_TOKENS, jti, expiresAt);
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        return stateStore.get(Region.REVOKED_TOKENS, jti) != null;
+    }
+
+    public int size() {
+        return stateStore.size(Region.REVOKED_TOKENS);
+    }
+}
@@ -0,0 +1,63 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.token.TokenIntrospectionDTO;
+import com.auth.Auth_system.domain.user.PermissionHolder;
+import com.auth.Auth_system.domain.user.RoleDefinition;
+import com.auth.Auth_system.infra.datasource.ReadYourWrites;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a verified token into its principal, for {@link SecurityFilter} and for the
+ * introspection endpoint. Both go through the verified-token and principal caches, so a token
+ * seen recently costs a hash and two map reads.
+ */
+@Component
+public class TokenIntrospector {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    TokenService tokenService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PrincipalCache principalCache;
+    @Autowired
+    AuthMetrics authMetrics;
+    @Autowired
+    ReadYourWrites readYourWrites;
+
+    public UserDetails resolvePrincipal(VerifiedToken verified) {
+        if (verified == null) return null;
+        if (tokenService.isClaimsMode() && verified.hasClaims()) return TokenPrincipal.from(verified);
+        String tenant = verified.tenant();
+        return principalCache.get(tenant, verified.subject(), login -> authMetrics.timeUserLookup(
+                () -> readYourWrites.read(tenant, login, () -> userRepository.findByLogin(tenant, login))));
+    }
+
+    /**
+     * Principal behind an {@code Authorization: Bearer} header, or {@code null} when the header
+     * is missing or the token does not verify.
+     */
+    public UserDetails authenticate(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return resolvePrincipal(tokenService.verify(authorization.substring(BEARER_PREFIX.length())));
+    }
+
+    public TokenIntrospectionDTO introspect(String token) {
+        VerifiedToken verified = token == null || token.isEmpty() ? null : tokenService.verify(token);
+        if (!(resolvePrincipal(verified) instanceof PermissionHolder principal)) {
+            authMetrics.tokenIntrospected(false);
+            return TokenIntrospectionDTO.INACTIVE;
+        }
+        authMetrics.tokenIntrospected(true);
+        RoleDefinition role = principal.roleDefinition();
+        return new TokenIntrospectionDTO(true, verified.subject(), verified.tenant(), role.name(), role.authorityNames(),
+                verified.expiresAt() != null ? verified.expiresAt().getEpochSecond() : null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.PermissionHolder;
+import com.auth.Auth_system.domain.user.RoleDefinition;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Principal rebuilt from the claims of a verified token, used instead of the {@code User} entity
+ * when claims mode is enabled. Its authorities are the role's shared, precomputed list.
+ */
+public record TokenPrincipal(String id, String tenant, String login, RoleDefinition role) implements UserDetails, PermissionHolder {
+
+    public static TokenPrincipal from(VerifiedToken token) {
+        return new TokenPrincipal(token.userId(), token.tenant(), token.subject(), token.role());
+    }
+
+    @Override
+    public RoleDefinition roleDefinition() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return role.authorities();
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return login;
+    }
+}
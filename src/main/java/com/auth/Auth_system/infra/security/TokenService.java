@@ -1,50 +1,178 @@
 package com.auth.Auth_system.infra.security;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.exceptions.InvalidClaimException;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth.Auth_system.domain.audit.AuditEventType;
 import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.infra.audit.AuditLog;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.UUID;
 
 @Service
 public class TokenService {
-    @Value("${api.security.token.secret}")
-    private String secret;
+    static final String TENANT_CLAIM = "tid";
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+
+    @Value("${api.security.token.expiration:15m}")
+    private Duration expiration;
+    @Value("${api.security.token.claims-mode.enabled:false}")
+    private boolean claimsMode;
+    @Value("${api.security.token.claims-mode.expiration:15m}")
+    private Duration claimsModeExpiration;
+    @Value("${api.security.token.cache.ttl:1m}")
+    private Duration cacheTtl;
+    @Value("${api.security.token.cache.max-size:50000}")
+    private int cacheMaxSize;
+    @Autowired
+    private AuthMetrics authMetrics;
+    @Autowired
+    private TokenDenylist denylist;
+    @Autowired
+    private JwtKeyRing keyRing;
+    @Autowired
+    private RoleRegistry roleRegistry;
+    @Autowired
+    private AuditLog auditLog;
+
+    private JWTVerifier verifier;
+    private BoundedCache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init(){
+        this.verifier = JWT.require(keyRing.verifier())
+                .withIssuer("auth-api")
+                .build();
+        this.verifiedTokens = new BoundedCache<>(cacheMaxSize, cacheTtl);
+        authMetrics.monitorCache("token", verifiedTokens);
+    }
 
     public String generateToken(User user){
         try{
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            String token = JWT.create()
+            var builder = JWT.create()
                     .withIssuer("auth-api")
+                    .withJWTId(UUID.randomUUID().toString())
                     .withSubject(user.getUsername())
-                    .withExpiresAt(genExpirationDate())
-                    .sign(algorithm);
-            return token;
+                    .withClaim(TENANT_CLAIM, user.getTenant())
+                    .withExpiresAt(genExpirationDate());
+            // authorities are not written: they are derived from the role when the token is read
+            if(claimsMode){
+                builder.withClaim(USER_ID_CLAIM, user.getId())
+                        .withClaim(ROLE_CLAIM, user.roleDefinition().name());
+            }
+            return builder.sign(keyRing.signer());
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error while generating token", exception);
         }
     }
 
     public String validateToken(String token){
+        VerifiedToken verified = verify(token);
+        return verified != null ? verified.subject() : "";
+    }
+
+    public VerifiedToken verify(String token){
+        long start = System.nanoTime();
+        String key = sha256Hex(token);
+        VerifiedToken cached = verifiedTokens.get(key);
+        if(cached != null){
+            authMetrics.tokenVerified(System.nanoTime() - start, true);
+            return notRevoked(cached);
+        }
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("auth-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            VerifiedToken verified = toVerifiedToken(verifier.verify(token));
+            if(notRevoked(verified) == null) return null;
+            long expiresAt = Math.min(verified.expiresAt().toEpochMilli(), System.currentTimeMillis() + cacheTtl.toMillis());
+            verifiedTokens.put(key, verified, expiresAt);
+            authMetrics.tokenVerified(System.nanoTime() - start, false);
+            return verified;
         } catch (JWTVerificationException exception){
-            return "";
+            authMetrics.tokenRejected(exception);
+            auditRejected(token, exception);
+            return null;
+        }
+    }
+
+    public void revoke(VerifiedToken token) {
+        denylist.revoke(token.id(), token.expiresAt());
+    }
+
+    public BoundedCache.Stats cacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    public boolean isClaimsMode() {
+        return claimsMode;
+    }
+
+    private VerifiedToken notRevoked(VerifiedToken verified){
+        if(denylist.isRevoked(verified.id())){
+            authMetrics.tokenRevoked();
+            auditLog.record(AuditEventType.TOKEN_REJECTED, verified.tenant(), verified.subject(), "revoked");
+            return null;
+        }
+        return verified;
+    }
+
+    /**
+     * Records which login and tenant a rejected token claimed, but only when its signature held,
+     * e.g. an expired token this service issued. java-jwt checks the signature before any claim,
+     * so expiry and claim failures imply a valid signature; anything else may be forged and is
+     * recorded without a login under the request's tenant.
+     */
+    private void auditRejected(String token, JWTVerificationException exception){
+        String subject = null;
+        String tenant = null;
+        if(exception instanceof TokenExpiredException || exception instanceof InvalidClaimException){
+            DecodedJWT jwt = JWT.decode(token);
+            subject = jwt.getSubject();
+            String claimed = jwt.getClaim(TENANT_CLAIM).asString();
+            tenant = claimed != null ? TenantContext.parse(claimed) : null;
+        }
+        auditLog.record(AuditEventType.TOKEN_REJECTED, tenant != null ? tenant : TenantContext.current(), subject,
+                AuthMetrics.rejectionReason(exception));
+    }
+
+    private VerifiedToken toVerifiedToken(DecodedJWT jwt){
+        Claim role = jwt.getClaim(ROLE_CLAIM);
+        String tenant = jwt.getClaim(TENANT_CLAIM).asString();
+        return new VerifiedToken(
+                jwt.getId(),
+                jwt.getSubject(),
+                tenant != null ? tenant : TenantContext.DEFAULT_TENANT,
+                jwt.getClaim(USER_ID_CLAIM).asString(),
+                role.isMissing() || role.isNull() ? null : roleRegistry.resolve(role.asString()),
+                jwt.getExpiresAtAsInstant());
+    }
+
+    public static String sha256Hex(String token){
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
         }
     }
 
     private Instant genExpirationDate(){
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+        return Instant.now().plus(claimsMode ? claimsModeExpiration : expiration);
     }
 }
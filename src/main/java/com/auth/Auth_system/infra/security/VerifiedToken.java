@@ -0,0 +1,25 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.RoleDefinition;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+
+public record VerifiedToken(String id, String subject, String tenant, String userId, RoleDefinition role, Instant expiresAt) {
+
+    public boolean hasClaims() {
+        return userId != null && role != null;
+    }
+
+    /**
+     * The tenant of the token the request was authenticated with. Unlike the tenant header, which
+     * any anonymous caller may set, it was signed by this service.
+     */
+    public static String tenantOf(Authentication authentication) {
+        if (authentication != null && authentication.getDetails() instanceof VerifiedToken verified) {
+            return verified.tenant();
+        }
+        throw new InsufficientAuthenticationException("A bearer token is required.");
+    }
+}
@@ -0,0 +1,76 @@
+package com.auth.Auth_system.infra.tenant;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Tenant of the current request. Anonymous requests name it with the {@value #HEADER} header;
+ * authenticated ones carry it in the token's {@code tid} claim, which wins over the header.
+ * Requests with neither belong to {@value #DEFAULT_TENANT}. The tenant is thread-bound, so work
+ * handed to another thread has to capture it first and pass it on.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+    public static final String HEADER = "X-Tenant-ID";
+    private static final int MAX_LENGTH = 63;
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    public static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T callWith(String tenant, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Tenant named by a header value: up to 63 letters, digits and inner hyphens, lowercased.
+     * A missing or blank value means the default tenant; anything else invalid gives {@code null}.
+     */
+    public static String parse(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_TENANT;
+        }
+        int length = value.length();
+        if (length > MAX_LENGTH || value.charAt(0) == '-' || value.charAt(length - 1) == '-') {
+            return null;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!(c >= 'a' && c <= 'z') && !(c >= 'A' && c <= 'Z') && !(c >= '0' && c <= '9') && c != '-') {
+                return null;
+            }
+        }
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Key for per-login state held outside the user table, such as lockouts and rate limits.
+     * Tenant ids cannot contain {@code /}, so keys of different tenants never collide.
+     */
+    public static String key(String tenant, String login) {
+        return tenant + '/' + login;
+    }
+}
@@ -0,0 +1,16 @@
+package com.auth.Auth_system.repositories;
+
+import com.auth.Auth_system.domain.audit.AuditEvent;
+import com.auth.Auth_system.domain.audit.AuditEventDTO;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface AuditEventRepository extends JpaRepository<AuditEvent, String> {
+    @Query("select new com.auth.Auth_system.domain.audit.AuditEventDTO(e.type, e.login, e.detail, e.remoteAddress, e.occurredAt) from audit_events e where e.tenant = :tenant and e.login = :login order by e.occurredAt desc")
+    List<AuditEventDTO> findRecent(String tenant, String login, Limit limit);
+}
@@ -0,0 +1,29 @@
+package com.auth.Auth_system.repositories;
+
+import com.auth.Auth_system.domain.token.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    @Query("select t from refresh_tokens t join fetch t.user where t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("update refresh_tokens t set t.revokedAt = :now where t.id = :id and t.revokedAt is null")
+    int revoke(String id, Instant now);
+
+    @Modifying
+    @Query("update refresh_tokens t set t.revokedAt = :now where t.familyId = :familyId and t.revokedAt is null")
+    int revokeFamily(String familyId, Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from refresh_tokens t where t.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,7 @@
+package com.auth.Auth_system.repositories;
+
+import com.auth.Auth_system.domain.user.CustomRole;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RoleRepository extends JpaRepository<CustomRole, String> {
+}
@@ -0,0 +1,18 @@
+package com.auth.Auth_system.repositories;
+
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+
+public interface UserLookupRepository {
+    UserDetails findByLogin(String tenant, String login);
+
+    default UserDetails findByLogin(String login) {
+        return findByLogin(TenantContext.current(), login);
+    }
+
+    int updatePassword(String tenant, String login, String password);
+
+    int lockUntil(String tenant, String login, Instant lockedUntil);
+}
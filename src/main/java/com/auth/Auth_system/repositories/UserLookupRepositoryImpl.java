@@ -0,0 +1,60 @@
+package com.auth.Auth_system.repositories;
+
+import com.auth.Auth_system.domain.user.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Loads users by their natural id, (tenant, login), instead of a JPQL query, so with the
+ * second-level cache enabled a login resolves to a cached id and then a cached entity without
+ * touching the database. Without the cache it is a single select on the (tenant, login) unique
+ * index.
+ * <p>
+ * Password and lock changes go through the loaded entity rather than a bulk JPQL update: a bulk
+ * update evicts the whole {@code users} and {@code users-by-login} regions, while a dirty entity
+ * only replaces its own cache entry and fires the entity listeners.
+ */
+class UserLookupRepositoryImpl implements UserLookupRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserDetails findByLogin(String tenant, String login) {
+        return load(tenant, login);
+    }
+
+    @Override
+    @Transactional
+    public int updatePassword(String tenant, String login, String password) {
+        User user = load(tenant, login);
+        if (user == null) {
+            return 0;
+        }
+        user.setPassword(password);
+        return 1;
+    }
+
+    @Override
+    @Transactional
+    public int lockUntil(String tenant, String login, Instant lockedUntil) {
+        User user = load(tenant, login);
+        if (user == null) {
+            return 0;
+        }
+        user.setLockedUntil(lockedUntil);
+        return 1;
+    }
+
+    private User load(String tenant, String login) {
+        return entityManager.unwrap(Session.class).byNaturalId(User.class)
+                .using("tenant", tenant)
+                .using("login", login)
+                .load();
+    }
+}
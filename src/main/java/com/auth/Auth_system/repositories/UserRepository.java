@@ -1,9 +1,29 @@
 package com.auth.Auth_system.repositories;
 
 import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserSummaryDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface UserRepository extends JpaRepository<User, String> {
-    UserDetails findByLogin(String login);
-}
\ No newline at end of file
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Transactional(readOnly = true)
+public interface UserRepository extends JpaRepository<User, String>, UserLookupRepository {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.auth.Auth_system.domain.user.UserSummaryDTO(u.id, u.name, u.login, u.role) from users u where u.tenant = :tenant and u.id > :after order by u.id")
+    List<UserSummaryDTO> findPageAfter(String tenant, String after, Limit limit);
+
+    @Query("select u.login from users u where u.tenant = :tenant and u.login in :logins")
+    List<String> findExistingLogins(String tenant, Collection<String> logins);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.auth.Auth_system.domain.user.UserSummaryDTO(u.id, u.name, u.login, u.role) from users u where u.tenant = :tenant order by u.id")
+    Stream<UserSummaryDTO> streamAll(String tenant);
+}
@@ -1,11 +1,17 @@
 package com.auth.Auth_system.services;
 
 
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.infra.datasource.ReadYourWrites;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.tenant.TenantContext;
 import com.auth.Auth_system.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,8 +19,37 @@ public class AuthorizationService implements UserDetailsService {
 
     @Autowired
     UserRepository repository;
+    @Autowired
+    TaskExecutor taskExecutor;
+    @Autowired
+    AuthMetrics authMetrics;
+    @Autowired
+    ReadYourWrites readYourWrites;
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return repository.findByLogin(username);
+        String tenant = TenantContext.current();
+        UserDetails user = authMetrics.timeUserLookup(() -> readYourWrites.read(tenant, username, () -> repository.findByLogin(tenant, username)));
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found.");
+        }
+        return user;
+    }
+
+    /**
+     * Rehashes the password of a user who just logged in if the stored hash is below the current
+     * policy. This is not a {@code UserDetailsPasswordService}: the authentication provider would
+     * hash again inside the login, doubling its cost, where here the new hash is computed and
+     * stored on the task executor after the response is on its way.
+     */
+    public void upgradePassword(UserDetails user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        String tenant = user instanceof User entity ? entity.getTenant() : TenantContext.current();
+        String login = user.getUsername();
+        taskExecutor.execute(() -> repository.updatePassword(tenant, login, passwordEncoder.encode(rawPassword)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package com.auth.Auth_system.services;
+
+import com.auth.Auth_system.domain.token.RefreshToken;
+import com.auth.Auth_system.domain.user.LoginResponseDTO;
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.exceptions.InvalidRefreshTokenException;
+import com.auth.Auth_system.infra.security.LoginAttemptTracker;
+import com.auth.Auth_system.infra.security.TokenService;
+import com.auth.Auth_system.repositories.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens. Only the SHA-256 of a token is stored, and every refresh
+ * consumes the presented token with a conditional update. A second use of the same token means
+ * it leaked, so the whole rotation family is revoked. A locked account cannot refresh; its token
+ * is left unused so the session can continue once the lock expires.
+ */
+@Service
+public class RefreshTokenService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Value("${api.security.refresh-token.expiration:14d}")
+    private Duration expiration;
+
+    @Autowired
+    RefreshTokenRepository repository;
+    @Autowired
+    TokenService tokenService;
+    @Autowired
+    LoginAttemptTracker loginAttempts;
+
+    @Transactional
+    public String create(User user) {
+        return create(user, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public LoginResponseDTO rotate(String presented) {
+        Instant now = Instant.now();
+        RefreshToken current = repository.findByTokenHash(TokenService.sha256Hex(presented))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token."));
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("Refresh token expired.");
+        }
+        User user = current.getUser();
+        if (isLocked(user, now)) {
+            throw new LockedException("Account is locked.");
+        }
+        if (repository.revoke(current.getId(), now) == 0) {
+            repository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Refresh token already used; the session has been revoked.");
+        }
+        return new LoginResponseDTO(tokenService.generateToken(user), create(user, current.getFamilyId()));
+    }
+
+    @Transactional
+    public void revoke(String presented) {
+        repository.findByTokenHash(TokenService.sha256Hex(presented))
+                .ifPresent(token -> repository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${api.security.refresh-token.purge-interval:1h}")
+    public void purgeExpired() {
+        repository.deleteExpired(Instant.now());
+    }
+
+    /**
+     * The lock recorded in the state store is checked as well: it is set at once on every
+     * instance, while the user row is updated in the background.
+     */
+    private boolean isLocked(User user, Instant now) {
+        if (!user.isAccountNonLocked() || !user.isEnabled()) {
+            return true;
+        }
+        Instant lockedUntil = loginAttempts.lockedUntil(user.getTenant(), user.getLogin());
+        return lockedUntil != null && lockedUntil.isAfter(now);
+    }
+
+    private String create(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = ENCODER.encodeToString(bytes);
+        repository.save(new RefreshToken(TokenService.sha256Hex(token), user, familyId, Instant.now().plus(expiration)));
+        return token;
+    }
+}
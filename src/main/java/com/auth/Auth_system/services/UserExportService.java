@@ -0,0 +1,47 @@
+package com.auth.Auth_system.services;
+
+import com.auth.Auth_system.domain.user.UserSummaryDTO;
+import com.auth.Auth_system.repositories.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class UserExportService {
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    UserRepository repository;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void writeNdjson(String tenant, OutputStream out) throws IOException {
+        // writeValue flushes after every row by default, which would defeat FLUSH_EVERY
+        ObjectWriter writer = objectMapper.writerFor(UserSummaryDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (Stream<UserSummaryDTO> users = repository.streamAll(tenant);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<UserSummaryDTO> it = users.iterator();
+            int written = 0;
+            while (it.hasNext()) {
+                writer.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+}
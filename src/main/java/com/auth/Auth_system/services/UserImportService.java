@@ -0,0 +1,241 @@
+package com.auth.Auth_system.services;
+
+import com.auth.Auth_system.domain.user.ImportErrorDTO;
+import com.auth.Auth_system.domain.user.ImportReportDTO;
+import com.auth.Auth_system.domain.user.RegisterDTO;
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.exceptions.HashingCapacityExceededException;
+import com.auth.Auth_system.exceptions.ValidationException;
+import com.auth.Auth_system.infra.security.PasswordHashingExecutor;
+import com.auth.Auth_system.repositories.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Imports users from a CSV ({@code name,login,password,role}) or NDJSON stream. Rows are read
+ * one at a time and processed in chunks: logins already taken are found with one query per
+ * chunk, passwords are hashed in parallel on the hashing pool and the chunk is written with
+ * Hibernate JDBC batching.
+ */
+@Service
+public class UserImportService {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_CAPACITY_RETRIES = 30;
+
+    public enum Format { CSV, NDJSON }
+
+    private record Row(long line, RegisterDTO data) {
+    }
+
+    private static final class Progress {
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long failed;
+
+        void fail(long line, String login, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportErrorDTO(line, login, message));
+            }
+        }
+    }
+
+    @Value("${api.users.import.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    UserRepository repository;
+    @Autowired
+    UserValidator userValidator;
+    @Autowired
+    PasswordEncoder passwordEncoder;
+    @Autowired
+    PasswordHashingExecutor hashingExecutor;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    EntityManager entityManager;
+
+    public ImportReportDTO importUsers(String tenant, InputStream in, Format format) throws IOException {
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        Set<String> seen = new HashSet<>();
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && line.startsWith("name,"))) {
+                    continue;
+                }
+                progress.processed++;
+                RegisterDTO data = null;
+                try {
+                    data = format == Format.CSV ? parseCsv(line) : parseJson(line);
+                    userValidator.validate(data);
+                } catch (ValidationException | IllegalArgumentException | JsonProcessingException e) {
+                    progress.fail(lineNumber, data != null ? data.login() : null, e.getMessage());
+                    continue;
+                }
+                if (!seen.add(data.login())) {
+                    progress.fail(lineNumber, data.login(), "Duplicate login in import.");
+                    continue;
+                }
+                batch.add(new Row(lineNumber, data));
+                if (batch.size() == batchSize) {
+                    writeBatch(tenant, batch, progress);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(tenant, batch, progress);
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        double rowsPerSecond = progress.processed * 1_000_000_000.0 / elapsedNanos;
+        return new ImportReportDTO(progress.processed, progress.imported, progress.failed, elapsedNanos / 1_000_000,
+                rowsPerSecond, progress.errors);
+    }
+
+    private void writeBatch(String tenant, List<Row> batch, Progress progress) {
+        Set<String> existing = new HashSet<>(repository.findExistingLogins(tenant, batch.stream().map(row -> row.data().login()).toList()));
+        List<Row> rows = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (existing.contains(row.data().login())) {
+                progress.fail(row.line(), row.data().login(), "The email has already been registered.");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = hashAll(rows);
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(users(tenant, rows, hashes, 0, rows.size())));
+            progress.imported += rows.size();
+        } catch (DataIntegrityViolationException e) {
+            // A login taken since the lookup; fall back to one row per transaction. The entities
+            // of the failed batch already carry ids, so every attempt gets new ones.
+            for (int i = 0; i < rows.size(); i++) {
+                List<User> user = users(tenant, rows, hashes, i, i + 1);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(user));
+                    progress.imported++;
+                } catch (DataIntegrityViolationException rowException) {
+                    progress.fail(rows.get(i).line(), rows.get(i).data().login(), "The email has already been registered.");
+                }
+            }
+        }
+    }
+
+    private static List<User> users(String tenant, List<Row> rows, List<String> hashes, int from, int to) {
+        List<User> users = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            RegisterDTO data = rows.get(i).data();
+            users.add(new User(data.name(), data.login(), hashes.get(i), data.role(), tenant));
+        }
+        return users;
+    }
+
+    /**
+     * Goes through the repository so a constraint violation on flush is translated into a
+     * {@link DataIntegrityViolationException}.
+     */
+    private void persist(List<User> users) {
+        repository.saveAllAndFlush(users);
+        entityManager.clear();
+    }
+
+    private List<String> hashAll(List<Row> rows) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return hashingExecutor.invokeAll(rows, row -> passwordEncoder.encode(row.data().password()));
+            } catch (HashingCapacityExceededException e) {
+                if (attempt == MAX_CAPACITY_RETRIES) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(e.getRetryAfterSeconds() * 1000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private RegisterDTO parseJson(String line) throws JsonProcessingException {
+        RegisterDTO data = objectMapper.readValue(line, RegisterDTO.class);
+        return data.role() == null ? new RegisterDTO(data.name(), data.login(), data.password(), UserRole.USER) : data;
+    }
+
+    private RegisterDTO parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 3 || fields.size() > 4) {
+            throw new IllegalArgumentException("Expected columns name,login,password[,role].");
+        }
+        UserRole role = fields.size() == 4 && !fields.get(3).isBlank()
+                ? UserRole.valueOf(fields.get(3).trim().toUpperCase(Locale.ROOT))
+                : UserRole.USER;
+        return new RegisterDTO(fields.get(0), fields.get(1), fields.get(2), role);
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
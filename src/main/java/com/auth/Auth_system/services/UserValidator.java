@@ -0,0 +1,192 @@
+package com.auth.Auth_system.services;
+
+import com.auth.Auth_system.domain.user.FieldViolationDTO;
+import com.auth.Auth_system.domain.user.RegisterDTO;
+import com.auth.Auth_system.exceptions.EmailValidationException;
+import com.auth.Auth_system.exceptions.NameValidationException;
+import com.auth.Auth_system.exceptions.PasswordValidationException;
+import com.auth.Auth_system.exceptions.ValidationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registration rules for name, login and password. Every field is checked in one pass and all
+ * violations are reported together. The matchers are hand-written single scans with no regex
+ * and no allocation, so a valid request costs a few hundred nanoseconds and a hostile one
+ * cannot trigger backtracking.
+ */
+@Component
+public class UserValidator {
+    static final int MIN_NAME_LENGTH = 3;
+    static final int MAX_NAME_LENGTH = 100;
+    static final int MAX_EMAIL_LENGTH = 254;
+    static final int MAX_LOCAL_PART_LENGTH = 64;
+    static final int MAX_DOMAIN_LABEL_LENGTH = 63;
+    static final int MIN_PASSWORD_LENGTH = 8;
+    static final int MAX_PASSWORD_LENGTH = 128;
+
+    public void validate(RegisterDTO data) {
+        List<FieldViolationDTO> violations = null;
+        violations = add(violations, "name", nameViolation(data.name()));
+        violations = add(violations, "login", emailViolation(data.login()));
+        violations = add(violations, "password", passwordViolation(data.password(), data.login()));
+        violations = add(violations, "role", data.role() == null ? "Role is required." : null);
+        if (violations != null) {
+            throw exceptionFor(violations);
+        }
+    }
+
+    public void validateName(String name) {
+        String violation = nameViolation(name);
+        if (violation != null) {
+            throw new NameValidationException(violation);
+        }
+    }
+
+    public void validateEmail(String email) {
+        String violation = emailViolation(email);
+        if (violation != null) {
+            throw new EmailValidationException(violation);
+        }
+    }
+
+    public void validatePassword(String password) {
+        String violation = passwordViolation(password, null);
+        if (violation != null) {
+            throw new PasswordValidationException(violation);
+        }
+    }
+
+    static String nameViolation(String name) {
+        if (name == null || isBlank(name)) {
+            return "Name cannot be empty or null.";
+        }
+        if (name.length() < MIN_NAME_LENGTH) {
+            return "Name must be at least " + MIN_NAME_LENGTH + " characters long.";
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return "Name must be at most " + MAX_NAME_LENGTH + " characters long.";
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.isISOControl(name.charAt(i))) {
+                return "Name contains invalid characters.";
+            }
+        }
+        return null;
+    }
+
+    static String emailViolation(String email) {
+        return email != null && isValidEmail(email) ? null : "Invalid email format.";
+    }
+
+    static String passwordViolation(String password, String login) {
+        if (password == null || password.length() < MIN_PASSWORD_LENGTH) {
+            return "Password must be at least " + MIN_PASSWORD_LENGTH + " characters long.";
+        }
+        if (password.length() > MAX_PASSWORD_LENGTH) {
+            return "Password must be at most " + MAX_PASSWORD_LENGTH + " characters long.";
+        }
+        if (isBlank(password)) {
+            return "Password cannot be only whitespace.";
+        }
+        if (password.equalsIgnoreCase(login)) {
+            return "Password must not be the same as the login.";
+        }
+        return null;
+    }
+
+    /**
+     * Local part of {@code [A-Za-z0-9+_.-]} without leading, trailing or doubled dots, then
+     * {@code @}, then one or more dot-separated labels of letters, digits and inner hyphens.
+     */
+    static boolean isValidEmail(String email) {
+        int length = email.length();
+        if (length == 0 || length > MAX_EMAIL_LENGTH) {
+            return false;
+        }
+        int at = -1;
+        char previous = '.';
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            if (!isLocalChar(c) || (c == '.' && previous == '.')) {
+                return false;
+            }
+            previous = c;
+        }
+        if (at < 1 || at > MAX_LOCAL_PART_LENGTH || previous == '.' || at == length - 1) {
+            return false;
+        }
+        int labelStart = at + 1;
+        for (int i = labelStart; i <= length; i++) {
+            char c = i == length ? '.' : email.charAt(i);
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_DOMAIN_LABEL_LENGTH
+                        || email.charAt(labelStart) == '-' || email.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isBlank(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<FieldViolationDTO> add(List<FieldViolationDTO> violations, String field, String message) {
+        if (message == null) {
+            return violations;
+        }
+        if (violations == null) {
+            violations = new ArrayList<>(4);
+        }
+        violations.add(new FieldViolationDTO(field, message));
+        return violations;
+    }
+
+    private static ValidationException exceptionFor(List<FieldViolationDTO> violations) {
+        StringBuilder message = new StringBuilder();
+        String field = violations.get(0).field();
+        for (FieldViolationDTO violation : violations) {
+            if (!message.isEmpty()) {
+                message.append(' ');
+            }
+            message.append(violation.message());
+            if (!violation.field().equals(field)) {
+                field = null;
+            }
+        }
+        if (field == null) {
+            return new ValidationException(message.toString(), violations);
+        }
+        return switch (field) {
+            case "name" -> new NameValidationException(message.toString(), violations);
+            case "login" -> new EmailValidationException(message.toString(), violations);
+            case "password" -> new PasswordValidationException(message.toString(), violations);
+            default -> new ValidationException(message.toString(), violations);
+        };
+    }
+}
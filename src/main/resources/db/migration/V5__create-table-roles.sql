@@ -0,0 +1,6 @@
+CREATE TABLE roles (
+    name TEXT PRIMARY KEY NOT NULL,
+    permissions BIGINT NOT NULL
+);
+
+ALTER TABLE users ADD COLUMN custom_role TEXT REFERENCES roles (name);
@@ -0,0 +1,11 @@
+ALTER TABLE users ADD COLUMN tenant TEXT NOT NULL DEFAULT 'default';
+
+-- Logins are unique per tenant; rebuilding the column drops the old constraint whatever it was named
+ALTER TABLE users ADD COLUMN tenant_login TEXT;
+UPDATE users SET tenant_login = login;
+ALTER TABLE users DROP COLUMN login;
+ALTER TABLE users RENAME COLUMN tenant_login TO login;
+ALTER TABLE users ALTER COLUMN login SET NOT NULL;
+ALTER TABLE users ADD CONSTRAINT uk_users_tenant_login UNIQUE (tenant, login);
+
+CREATE INDEX ix_users_tenant_id ON users (tenant, id);
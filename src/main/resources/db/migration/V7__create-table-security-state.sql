@@ -0,0 +1,9 @@
+CREATE TABLE security_state (
+    region VARCHAR(32) NOT NULL,
+    state_key VARCHAR(320) NOT NULL,
+    expires_at BIGINT NOT NULL,
+    updated_at BIGINT NOT NULL,
+    PRIMARY KEY (region, state_key)
+);
+
+CREATE INDEX ix_security_state_updated_at ON security_state (updated_at);
@@ -0,0 +1,12 @@
+-- Display names are not unique; rebuilding the column drops the constraint whatever it was named
+ALTER TABLE users ADD COLUMN display_name TEXT;
+UPDATE users SET display_name = name;
+ALTER TABLE users DROP COLUMN name;
+ALTER TABLE users RENAME COLUMN display_name TO name;
+
+ALTER TABLE users ALTER COLUMN role TYPE SMALLINT USING
+    CASE CAST(role AS TEXT) WHEN 'ADMIN' THEN 0 WHEN 'USER' THEN 1 ELSE CAST(CAST(role AS TEXT) AS SMALLINT) END;
+
+ALTER TABLE users ALTER COLUMN locked_until TYPE TIMESTAMP WITH TIME ZONE;
+ALTER TABLE refresh_tokens ALTER COLUMN expires_at TYPE TIMESTAMP WITH TIME ZONE;
+ALTER TABLE refresh_tokens ALTER COLUMN revoked_at TYPE TIMESTAMP WITH TIME ZONE;
@@ -0,0 +1,11 @@
+CREATE TABLE audit_events (
+    id TEXT PRIMARY KEY NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    tenant VARCHAR(63) NOT NULL,
+    login VARCHAR(320),
+    detail VARCHAR(32),
+    remote_address VARCHAR(64),
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX ix_audit_events_tenant_login_occurred_at ON audit_events (tenant, login, occurred_at);
@@ -0,0 +1,181 @@
+package com.auth.Auth_system.reactive;
+
+import com.auth.Auth_system.domain.user.AuthenticationDTO;
+import com.auth.Auth_system.domain.user.LoginResponseDTO;
+import com.auth.Auth_system.domain.user.RegisterDTO;
+import com.auth.Auth_system.domain.user.UserPageDTO;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "api.security.password.calibrate=false",
+        "api.security.password.bcrypt.strength=4",
+        "api.security.rate-limit.enabled=false"
+})
+@ActiveProfiles({"test", "reactive"})
+public class ReactiveAuthenticationControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private NettyReactiveWebServerFactory serverFactory;
+
+    @Test
+    void testRegisterLoginAndLogoutOverNetty() {
+        assertNotNull(serverFactory);
+        register("reactive@example.com").expectStatus().isOk();
+
+        LoginResponseDTO tokens = client.post().uri("/auth/login")
+                .bodyValue(new AuthenticationDTO("reactive@example.com", "password123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LoginResponseDTO.class)
+                .returnResult().getResponseBody();
+        assertNotNull(tokens);
+        assertNotNull(tokens.token());
+
+        client.post().uri("/auth/logout")
+                .bodyValue(Map.of("refreshToken", tokens.refreshToken()))
+                .exchange()
+                .expectStatus().isForbidden();
+        client.post().uri("/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.token())
+                .bodyValue(Map.of("refreshToken", tokens.refreshToken()))
+                .exchange()
+                .expectStatus().isNoContent();
+        client.post().uri("/auth/refresh")
+                .bodyValue(Map.of("refreshToken", tokens.refreshToken()))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void testLoginWithWrongPasswordIsUnauthorized() {
+        register("wrong-password@example.com").expectStatus().isOk();
+
+        client.post().uri("/auth/login")
+                .bodyValue(new AuthenticationDTO("wrong-password@example.com", "not-the-password"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void testRegisterDuplicateLoginConflicts() {
+        register("duplicate@example.com").expectStatus().isOk();
+
+        register("duplicate@example.com").expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testOnlyTheLoginConstraintIsAConflict() {
+        assertTrue(ReactiveAuthenticationController.isLoginConflict(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"uk_users_tenant_login\"")));
+        assertFalse(ReactiveAuthenticationController.isLoginConflict(new DataIntegrityViolationException(
+                "null value in column \"login\" of relation \"users\" violates not-null constraint")));
+        assertFalse(ReactiveAuthenticationController.isLoginConflict(new DataIntegrityViolationException(null)));
+    }
+
+    @Test
+    void testRegisterInvalidDataIsRejected() {
+        client.post().uri("/auth/register")
+                .bodyValue(new RegisterDTO("A", "not-an-email", "1", UserRole.USER))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testUsersArePagedFromR2dbc() {
+        register("paged-1@example.com").expectStatus().isOk();
+        register("paged-2@example.com").expectStatus().isOk();
+
+        client.get().uri("/auth/users?limit=1")
+                .exchange()
+                .expectStatus().isForbidden();
+        UserPageDTO page = client.get().uri("/auth/users?limit=1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + login("paged-1@example.com").token())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserPageDTO.class)
+                .returnResult().getResponseBody();
+
+        assertNotNull(page);
+        assertEquals(1, page.users().size());
+        assertNotNull(page.nextCursor());
+    }
+
+    @Test
+    void testUsersAreListedForTheTokensTenant() {
+        client.post().uri("/auth/register")
+                .header(TenantContext.HEADER, "initech")
+                .bodyValue(new RegisterDTO("Reactive User", "initech@example.com", "password123", UserRole.USER))
+                .exchange()
+                .expectStatus().isOk();
+        register("listed@example.com").expectStatus().isOk();
+
+        UserPageDTO page = client.get().uri("/auth/users?limit=500")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + login("listed@example.com").token())
+                .header(TenantContext.HEADER, "initech")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserPageDTO.class)
+                .returnResult().getResponseBody();
+
+        assertNotNull(page);
+        assertTrue(page.users().stream().anyMatch(user -> user.login().equals("listed@example.com")));
+        assertTrue(page.users().stream().noneMatch(user -> user.login().equals("initech@example.com")));
+    }
+
+    @Test
+    void testSameLoginRegistersInSeparateTenants() {
+        register("tenant@example.com").expectStatus().isOk();
+        client.post().uri("/auth/register")
+                .header(TenantContext.HEADER, "acme")
+                .bodyValue(new RegisterDTO("Reactive User", "tenant@example.com", "password123", UserRole.USER))
+                .exchange()
+                .expectStatus().isOk();
+
+        client.post().uri("/auth/login")
+                .header(TenantContext.HEADER, "acme")
+                .bodyValue(new AuthenticationDTO("tenant@example.com", "password123"))
+                .exchange()
+                .expectStatus().isOk();
+        client.post().uri("/auth/login")
+                .header(TenantContext.HEADER, "globex")
+                .bodyValue(new AuthenticationDTO("tenant@example.com", "password123"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+        client.post().uri("/auth/login")
+                .header(TenantContext.HEADER, "not a tenant")
+                .bodyValue(new AuthenticationDTO("tenant@example.com", "password123"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private LoginResponseDTO login(String login) {
+        return client.post().uri("/auth/login")
+                .bodyValue(new AuthenticationDTO(login, "password123"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LoginResponseDTO.class)
+                .returnResult().getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec register(String login) {
+        return client.post().uri("/auth/register")
+                .bodyValue(new RegisterDTO("Reactive User", login, "password123", UserRole.USER))
+                .exchange();
+    }
+}
@@ -0,0 +1,189 @@
+package com.auth.Auth_system.reactive;
+
+import com.auth.Auth_system.domain.audit.AuditEventType;
+import com.auth.Auth_system.domain.token.RefreshRequestDTO;
+import com.auth.Auth_system.domain.user.AuthenticationDTO;
+import com.auth.Auth_system.domain.user.LoginResponseDTO;
+import com.auth.Auth_system.domain.user.RegisterDTO;
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserPageDTO;
+import com.auth.Auth_system.domain.user.UserSummaryDTO;
+import com.auth.Auth_system.exceptions.HashingCapacityExceededException;
+import com.auth.Auth_system.exceptions.UserAlreadyExistsException;
+import com.auth.Auth_system.infra.audit.AuditLog;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.security.LoginAttemptTracker;
+import com.auth.Auth_system.infra.security.TokenService;
+import com.auth.Auth_system.infra.security.VerifiedToken;
+import com.auth.Auth_system.services.RefreshTokenService;
+import com.auth.Auth_system.services.UserValidator;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reactive counterpart of {@code AuthenticationController} for login, registration, token
+ * refresh and the user listing. Password work runs on the bounded hashing scheduler, user reads
+ * and writes go through R2DBC, and the refresh token store, which is still JPA, is called on
+ * {@link Schedulers#boundedElastic()}.
+ */
+@RestController
+@RequestMapping("auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthenticationController {
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Value("${api.security.hashing.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Autowired
+    private ReactiveAuthenticationManager authenticationManager;
+    @Autowired
+    private ReactiveUserRepository repository;
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private Scheduler passwordHashingScheduler;
+    @Autowired
+    private UserValidator userValidator;
+    @Autowired
+    private AuthMetrics authMetrics;
+    @Autowired
+    private LoginAttemptTracker loginAttempts;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+    @Autowired
+    private AuditLog auditLog;
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<LoginResponseDTO>> login(@RequestBody @Valid AuthenticationDTO data, ServerHttpRequest request) {
+        return ReactiveTenantFilter.currentTenant().flatMap(tenant -> login(tenant, data, remoteAddress(request)));
+    }
+
+    private Mono<ResponseEntity<LoginResponseDTO>> login(String tenant, AuthenticationDTO data, String remoteAddress) {
+        if (loginAttempts.lockedUntil(tenant, data.login()) != null) {
+            auditLog.record(AuditEventType.LOGIN_FAILED, tenant, data.login(), "locked", remoteAddress);
+            return Mono.error(new LockedException("Account temporarily locked."));
+        }
+        long start = System.nanoTime();
+        var usernamePassword = new UsernamePasswordAuthenticationToken(data.login(), data.password());
+
+        return authenticationManager.authenticate(usernamePassword)
+                .onErrorMap(RejectedExecutionException.class, e -> capacityExceeded())
+                .map(auth -> (User) auth.getPrincipal())
+                .publishOn(Schedulers.boundedElastic())
+                .map(user -> ResponseEntity.ok(new LoginResponseDTO(tokenService.generateToken(user), refreshTokenService.create(user))))
+                .doOnSuccess(response -> {
+                    authMetrics.login(System.nanoTime() - start, true);
+                    auditLog.record(AuditEventType.LOGIN_SUCCEEDED, tenant, data.login(), null, remoteAddress);
+                    loginAttempts.succeeded(tenant, data.login());
+                })
+                .doOnError(failure -> {
+                    authMetrics.login(System.nanoTime() - start, false);
+                    auditLog.record(AuditEventType.LOGIN_FAILED, tenant, data.login(), AuditLog.loginFailure(failure), remoteAddress);
+                    if (failure instanceof BadCredentialsException) {
+                        loginAttempts.failed(tenant, data.login());
+                    }
+                });
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<LoginResponseDTO>> refresh(@RequestBody @Valid RefreshRequestDTO data) {
+        return Mono.fromCallable(() -> ResponseEntity.ok(refreshTokenService.rotate(data.refreshToken())))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<Void>> logout(@RequestBody(required = false) RefreshRequestDTO data, Authentication authentication) {
+        if (authentication != null && authentication.getDetails() instanceof VerifiedToken verified) {
+            tokenService.revoke(verified);
+        }
+        if (data == null || data.refreshToken() == null) {
+            return Mono.just(ResponseEntity.noContent().build());
+        }
+        return Mono.fromRunnable(() -> refreshTokenService.revoke(data.refreshToken()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<Void>> register(@RequestBody RegisterDTO data, ServerHttpRequest request) {
+
+        userValidator.validate(data);
+
+        return Mono.fromCallable(() -> passwordEncoder.encode(data.password()))
+                .subscribeOn(passwordHashingScheduler)
+                .onErrorMap(RejectedExecutionException.class, e -> capacityExceeded())
+                .zipWith(ReactiveTenantFilter.currentTenant())
+                .map(hashAndTenant -> new User(UUID.randomUUID().toString(), hashAndTenant.getT2(),
+                        data.name(), data.login(), hashAndTenant.getT1(), data.role(), null, null))
+                .flatMap(user -> repository.insert(user).thenReturn(user))
+                .onErrorMap(DataIntegrityViolationException.class, e -> {
+                    if (isLoginConflict(e)) {
+                        authMetrics.registerConflict();
+                        return new UserAlreadyExistsException("The email has already been registered.");
+                    }
+                    return e;
+                })
+                .doOnSuccess(user -> {
+                    authMetrics.registered();
+                    auditLog.record(AuditEventType.REGISTERED, user.getTenant(), user.getLogin(), null, remoteAddress(request));
+                })
+                .thenReturn(ResponseEntity.ok().build());
+    }
+
+    @GetMapping("/users")
+    public Mono<ResponseEntity<UserPageDTO>> getAllUsers(@RequestParam(defaultValue = "") String cursor,
+                                                         @RequestParam(defaultValue = "50") int limit,
+                                                         Authentication authentication) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return repository.findPageAfter(VerifiedToken.tenantOf(authentication), cursor, pageSize)
+                .collectList()
+                .map(users -> ResponseEntity.ok(new UserPageDTO(users, nextCursor(users, pageSize))));
+    }
+
+    private HashingCapacityExceededException capacityExceeded() {
+        return new HashingCapacityExceededException("Too many concurrent authentication requests, please retry later.",
+                Math.max(1, retryAfter.toSeconds()));
+    }
+
+    private static String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        return address != null && address.getAddress() != null ? address.getAddress().getHostAddress() : null;
+    }
+
+    private static String nextCursor(List<UserSummaryDTO> users, int pageSize) {
+        return users.size() == pageSize ? users.get(users.size() - 1).id() : null;
+    }
+
+    /**
+     * R2DBC exceptions carry no constraint name, only the driver's message, which names it.
+     */
+    static boolean isLoginConflict(DataIntegrityViolationException e) {
+        String message = e.getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(User.LOGIN_CONSTRAINT);
+    }
+}
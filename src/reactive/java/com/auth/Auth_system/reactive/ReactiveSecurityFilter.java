@@ -0,0 +1,89 @@
+package com.auth.Auth_system.reactive;
+
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.security.PrincipalCache;
+import com.auth.Auth_system.infra.security.TokenPrincipal;
+import com.auth.Auth_system.infra.security.TokenService;
+import com.auth.Auth_system.infra.security.VerifiedToken;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@code SecurityFilter}. Token verification is the same
+ * {@link TokenService} call, cached and CPU-only, so it runs inline; only a principal cache miss
+ * goes to the database, through R2DBC.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityFilter implements WebFilter {
+    @Autowired
+    TokenService tokenService;
+    @Autowired
+    ReactiveUserRepository userRepository;
+    @Autowired
+    PrincipalCache principalCache;
+    @Autowired
+    AuthMetrics authMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String token = recoverToken(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+        VerifiedToken verified = tokenService.verify(token);
+        if (verified == null) {
+            return chain.filter(exchange);
+        }
+        return resolvePrincipal(verified)
+                .map(user -> authentication(user, verified))
+                .flatMap(authentication -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                        .contextWrite(context -> context.put(TenantContext.class, verified.tenant()))
+                        .thenReturn(Boolean.TRUE))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(Boolean.FALSE)))
+                .then();
+    }
+
+    private Mono<UserDetails> resolvePrincipal(VerifiedToken verified) {
+        if (tokenService.isClaimsMode() && verified.hasClaims()) {
+            return Mono.just(TokenPrincipal.from(verified));
+        }
+        String tenant = verified.tenant();
+        String login = verified.subject();
+        UserDetails cached = principalCache.getIfPresent(tenant, login);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.defer(() -> {
+            long generation = principalCache.generation(tenant, login);
+            long start = System.nanoTime();
+            return userRepository.findByLogin(tenant, login)
+                    .doOnTerminate(() -> authMetrics.userLookedUp(System.nanoTime() - start))
+                    .doOnNext(user -> principalCache.putIfCurrent(tenant, login, user, generation))
+                    .cast(UserDetails.class);
+        });
+    }
+
+    private static Authentication authentication(UserDetails user, VerifiedToken verified) {
+        var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        authentication.setDetails(verified);
+        return authentication;
+    }
+
+    static String recoverToken(String authHeader) {
+        if (authHeader == null) return null;
+        return authHeader.replace("Bearer ", "");
+    }
+}
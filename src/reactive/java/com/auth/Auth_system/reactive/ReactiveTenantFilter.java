@@ -0,0 +1,36 @@
+package com.auth.Auth_system.reactive;
+
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@code TenantFilter}. The tenant travels in the Reactor context under
+ * {@code TenantContext.class}; {@link ReactiveSecurityFilter} replaces it with the token's tenant.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTenantFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String tenant = TenantContext.parse(exchange.getRequest().getHeaders().getFirst(TenantContext.HEADER));
+        if (tenant == null) {
+            exchange.getResponse().setStatusCode(HttpStatus.BAD_REQUEST);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange).contextWrite(context -> context.put(TenantContext.class, tenant));
+    }
+
+    static Mono<String> currentTenant() {
+        return Mono.deferContextual(context -> Mono.just(context.getOrDefault(TenantContext.class, TenantContext.DEFAULT_TENANT)));
+    }
+}
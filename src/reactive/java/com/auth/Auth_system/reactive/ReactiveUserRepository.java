@@ -0,0 +1,115 @@
+package com.auth.Auth_system.reactive;
+
+import com.auth.Auth_system.domain.user.RoleDefinition;
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.domain.user.UserSummaryDTO;
+import com.auth.Auth_system.infra.security.RoleRegistry;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * R2DBC counterpart of {@code UserRepository} for the reactive stack. It reads and writes the same
+ * {@code users} table as the JPA mapping, with {@code role} stored as the enum ordinal.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserRepository implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+    private static final String COLUMNS = "id, tenant, name, login, password, role, locked_until, custom_role";
+
+    @Autowired
+    DatabaseClient databaseClient;
+    @Autowired
+    RoleRegistry roleRegistry;
+
+    public Mono<User> findByLogin(String tenant, String login) {
+        return databaseClient.sql("select " + COLUMNS + " from users where tenant = :tenant and login = :login")
+                .bind("tenant", tenant)
+                .bind("login", login)
+                .map(this::toUser)
+                .one();
+    }
+
+    public Flux<UserSummaryDTO> findPageAfter(String tenant, String after, int limit) {
+        return databaseClient.sql("select id, name, login, role from users where tenant = :tenant and id > :after order by id limit :limit")
+                .bind("tenant", tenant)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(row -> new UserSummaryDTO(row.get("id", String.class), row.get("name", String.class),
+                        row.get("login", String.class), role(row)))
+                .all();
+    }
+
+    public Mono<Void> insert(User user) {
+        return databaseClient.sql("insert into users (id, tenant, name, login, password, role) values (:id, :tenant, :name, :login, :password, :role)")
+                .bind("id", user.getId())
+                .bind("tenant", user.getTenant())
+                .bind("name", user.getName())
+                .bind("login", user.getLogin())
+                .bind("password", user.getPassword())
+                .bind("role", user.getRole().ordinal())
+                .then();
+    }
+
+    /**
+     * Looks the user up in the tenant carried by the Reactor context, which is how the
+     * authentication manager reaches it.
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return ReactiveTenantFilter.currentTenant()
+                .flatMap(tenant -> findByLogin(tenant, username))
+                .cast(UserDetails.class);
+    }
+
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        String tenant = user instanceof User entity ? entity.getTenant() : TenantContext.DEFAULT_TENANT;
+        return databaseClient.sql("update users set password = :password where tenant = :tenant and login = :login")
+                .bind("password", newPassword)
+                .bind("tenant", tenant)
+                .bind("login", user.getUsername())
+                .then()
+                .thenReturn(user);
+    }
+
+    private User toUser(Readable row) {
+        String customRole = row.get("custom_role", String.class);
+        RoleDefinition definition = customRole != null ? roleRegistry.resolve(customRole) : null;
+        return new User(row.get("id", String.class), row.get("tenant", String.class), row.get("name", String.class), row.get("login", String.class),
+                row.get("password", String.class), role(row), instant(row.get("locked_until")), definition);
+    }
+
+    private static UserRole role(Readable row) {
+        Object value = row.get("role");
+        if (value instanceof Number ordinal) {
+            return UserRole.values()[ordinal.intValue()];
+        }
+        String text = String.valueOf(value);
+        return text.chars().allMatch(Character::isDigit) ? UserRole.values()[Integer.parseInt(text)] : UserRole.valueOf(text);
+    }
+
+    private static Instant instant(Object value) {
+        return switch (value) {
+            case null -> null;
+            case Instant instant -> instant;
+            case OffsetDateTime offset -> offset.toInstant();
+            case LocalDateTime local -> local.toInstant(ZoneOffset.UTC);
+            default -> throw new IllegalStateException("Unexpected locked_until type " + value.getClass().getName());
+        };
+    }
+}
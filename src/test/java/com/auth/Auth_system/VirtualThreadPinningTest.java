@@ -0,0 +1,46 @@
+package com.auth.Auth_system;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Request handling may run on virtual threads (the {@code virtual} profile); a monitor held
+ * across a blocking call pins the carrier thread, so our own code uses
+ * {@link java.util.concurrent.locks.ReentrantLock} instead of {@code synchronized}.
+ */
+public class VirtualThreadPinningTest {
+    private static final Pattern SYNCHRONIZED = Pattern.compile("\\bsynchronized\\b");
+
+    private static final List<Path> SOURCE_ROOTS = List.of(Path.of("src/main/java"), Path.of("src/reactive/java"));
+
+    @Test
+    void testMainSourcesDoNotUseSynchronized() throws IOException {
+        List<Path> offenders = new ArrayList<>();
+        for (Path root : SOURCE_ROOTS) {
+            assertTrue(Files.isDirectory(root), root + " not found");
+            try (Stream<Path> sources = Files.walk(root)) {
+                sources.filter(path -> path.toString().endsWith(".java"))
+                        .filter(VirtualThreadPinningTest::usesSynchronized)
+                        .forEach(offenders::add);
+            }
+        }
+        assertTrue(offenders.isEmpty(), "synchronized found in " + offenders);
+    }
+
+    private static boolean usesSynchronized(Path path) {
+        try {
+            return SYNCHRONIZED.matcher(Files.readString(path)).find();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
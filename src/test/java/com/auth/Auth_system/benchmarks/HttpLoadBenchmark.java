@@ -0,0 +1,193 @@
+package com.auth.Auth_system.benchmarks;
+
+import com.auth.Auth_system.AuthSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator comparing the request execution modes. Each mode boots the
+ * application in-process on the H2 test profile, seeds a few users and then keeps
+ * {@code bench.concurrency} clients busy with authenticated {@code GET /auth/users} requests.
+ *
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.auth.Auth_system.benchmarks.HttpLoadBenchmark \
+ *     -Dbench.modes=platform,virtual -Dbench.concurrency=400 -Dbench.seconds=30
+ * </pre>
+ *
+ * The {@code reactive} mode runs the WebFlux and R2DBC stack on Netty and needs the
+ * {@code reactive} Maven profile on the classpath ({@code ./mvnw -Preactive ...
+ * -Dbench.modes=platform,virtual,reactive}).
+ *
+ * Set {@code bench.url} to drive an already running instance instead (for example one backed by
+ * PostgreSQL); {@code bench.modes} is then only used as the label of the run.
+ */
+public class HttpLoadBenchmark {
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+
+    record Result(String mode, long requests, long errors, double seconds, long p50Micros, long p99Micros) {
+        @Override
+        public String toString() {
+            return String.format("%-10s requests=%d errors=%d rps=%.1f p50=%.2fms p99=%.2fms",
+                    mode, requests, errors, requests / seconds, p50Micros / 1000.0, p99Micros / 1000.0);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("bench.concurrency", 200);
+        Duration duration = Duration.ofSeconds(Long.getLong("bench.seconds", 20));
+        Duration warmup = Duration.ofSeconds(Long.getLong("bench.warmup-seconds", 5));
+        String url = System.getProperty("bench.url");
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : System.getProperty("bench.modes", "platform,virtual").split(",")) {
+            if (url != null) {
+                results.add(drive(mode, url, concurrency, warmup, duration));
+                continue;
+            }
+            try (ConfigurableApplicationContext context = start(mode)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                results.add(drive(mode, baseUrl, concurrency, warmup, duration));
+            }
+        }
+        results.forEach(System.out::println);
+    }
+
+    static ConfigurableApplicationContext start(String mode) {
+        List<String> profiles = new ArrayList<>(List.of("test"));
+        if (mode.equals("virtual") || mode.equals("reactive")) {
+            profiles.add(mode);
+        }
+        return new SpringApplicationBuilder(AuthSystemApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + mode,
+                        "spring.r2dbc.url=r2dbc:h2:mem:///bench-" + mode,
+                        "spring.jpa.show-sql=false",
+                        "spring.devtools.restart.enabled=false",
+                        "api.security.password.calibrate=false",
+                        "api.security.password.bcrypt.strength=4")
+                .run();
+    }
+
+    static Result drive(String mode, String baseUrl, int concurrency, Duration warmup, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String token = seed(client, baseUrl);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/users?limit=20"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+        run(client, request, concurrency, warmup);
+        return run(client, request, concurrency, duration).withMode(mode);
+    }
+
+    private static Sample run(HttpClient client, HttpRequest request, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Sample>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(clients.submit(() -> loop(client, request, deadline)));
+            }
+            Sample total = new Sample();
+            for (Future<Sample> future : futures) {
+                total.merge(future.get());
+            }
+            total.seconds = (System.nanoTime() - start) / 1e9;
+            return total;
+        }
+    }
+
+    private static Sample loop(HttpClient client, HttpRequest request, long deadline) {
+        Sample sample = new Sample();
+        while (System.nanoTime() < deadline) {
+            long begin = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    sample.errors++;
+                    continue;
+                }
+                sample.add((System.nanoTime() - begin) / 1000);
+            } catch (Exception e) {
+                sample.errors++;
+            }
+        }
+        return sample;
+    }
+
+    private static String seed(HttpClient client, String baseUrl) throws Exception {
+        for (int i = 0; i < 50; i++) {
+            post(client, baseUrl + "/auth/register",
+                    "{\"name\":\"Bench User " + i + "\",\"login\":\"bench" + i + "@example.com\",\"password\":\"password123\",\"role\":\"USER\"}");
+        }
+        String body = post(client, baseUrl + "/auth/login", "{\"login\":\"bench0@example.com\",\"password\":\"password123\"}");
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static String post(HttpClient client, String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static final class Sample {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private double seconds;
+
+        void add(long micros) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = micros;
+        }
+
+        void merge(Sample other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        Result withMode(String mode) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Result(mode, count, errors, seconds, percentile(sorted, 0.50), percentile(sorted, 0.99));
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+        }
+    }
+}
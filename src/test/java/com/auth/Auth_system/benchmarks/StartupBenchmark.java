@@ -0,0 +1,151 @@
+package com.auth.Auth_system.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching a fresh JVM to the first successful {@code POST /auth/login}, for the
+ * artifacts built by the {@code fast-startup} Maven profile. Every run starts the prod profile
+ * against its own in-memory database (H2 in PostgreSQL mode), so Flyway migrates and Hibernate
+ * validates the schema as it would in production, registers a user and logs in as soon as the
+ * port accepts connections.
+ *
+ * <pre>
+ * ./mvnw -Pfast-startup package -DskipTests
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.auth.Auth_system.benchmarks.StartupBenchmark \
+ *     -Dbench.modes=update,jar,aot,cds -Dbench.runs=5
+ * </pre>
+ *
+ * Modes: {@code update} boots the way the service did before migrations ({@code ddl-auto=update},
+ * no Flyway), {@code jar} uses migrations and schema validation, {@code aot} adds the AOT-generated
+ * bean definitions and {@code cds} also maps the class data sharing archive.
+ */
+public class StartupBenchmark {
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    record Result(String mode, long[] millis) {
+        @Override
+        public String toString() {
+            long[] sorted = millis.clone();
+            Arrays.sort(sorted);
+            return String.format("%-8s runs=%d min=%dms median=%dms max=%dms",
+                    mode, sorted.length, sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1]);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Path.of(System.getProperty("bench.dir", "target/fast-startup"));
+        Path jar = directory.resolve(System.getProperty("bench.jar", "Auth_system-0.0.1-SNAPSHOT.jar"));
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException(jar + " not found, build it with ./mvnw -Pfast-startup package");
+        }
+        int runs = Integer.getInteger("bench.runs", 5);
+        List<String> extraArgs = List.of(System.getProperty("bench.args", "").split(" ")).stream()
+                .filter(arg -> !arg.isBlank())
+                .toList();
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : System.getProperty("bench.modes", "update,jar,aot,cds").split(",")) {
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = timeToFirstLogin(mode, directory, jar, extraArgs, directory.resolve("startup-" + mode + "-" + run + ".log"));
+            }
+            Result result = new Result(mode, millis);
+            System.out.println(result);
+            results.add(result);
+        }
+        results.forEach(System.out::println);
+    }
+
+    static long timeToFirstLogin(String mode, Path directory, Path jar, List<String> extraArgs, Path log) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java"));
+        if (mode.equals("aot") || mode.equals("cds")) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        if (mode.equals("cds")) {
+            // The archive records the class path relative to the extracted directory
+            command.add("-XX:SharedArchiveFile=application.jsa");
+        }
+        // Hibernate's generated DDL is plain H2; H2's PostgreSQL mode rejects some of its types
+        String url = mode.equals("update")
+                ? "jdbc:h2:mem:startup"
+                : "jdbc:h2:mem:startup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+        command.addAll(List.of("-jar", jar.getFileName().toString(),
+                "--spring.profiles.active=prod",
+                "--server.port=" + port,
+                "--management.server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"));
+        if (mode.equals("update")) {
+            command.addAll(List.of("--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=update"));
+        }
+        command.addAll(extraArgs);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        String baseUrl = "http://localhost:" + port;
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            await(client, process, baseUrl + "/auth/register",
+                    "{\"name\":\"Startup User\",\"login\":\"startup@example.com\",\"password\":\"password123\",\"role\":\"USER\"}", start);
+            await(client, process, baseUrl + "/auth/login",
+                    "{\"login\":\"startup@example.com\",\"password\":\"password123\"}", start);
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static void await(HttpClient client, Process process, String url, String json, long start) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            if (System.nanoTime() - start > TIMEOUT.toNanos()) {
+                throw new IllegalStateException("No successful response from " + url + " within " + TIMEOUT);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
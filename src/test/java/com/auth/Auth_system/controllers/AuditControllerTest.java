@@ -0,0 +1,96 @@
+package com.auth.Auth_system.controllers;
+
+import com.auth.Auth_system.domain.user.AuthenticationDTO;
+import com.auth.Auth_system.domain.user.RegisterDTO;
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.security.TokenService;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import com.auth.Auth_system.repositories.AuditEventRepository;
+import com.auth.Auth_system.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "api.security.password.calibrate=false",
+        "api.security.password.bcrypt.strength=4",
+        "api.audit.flush-interval=20ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AuditControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthenticationController authenticationController;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private AuditEventRepository auditEvents;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void testAuthenticationActivityIsListedNewestFirst() throws Exception {
+        String login = "audited@example.com";
+        authenticationController.register(new RegisterDTO("Audited User", login, "password123", UserRole.USER)).join();
+        assertThrows(CompletionException.class, () -> authenticationController.login(new AuthenticationDTO(login, "wrong-password")).join());
+        String token = authenticationController.login(new AuthenticationDTO(login, "password123")).join().getBody().token();
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        awaitTrue(() -> auditEvents.findRecent(TenantContext.DEFAULT_TENANT, login, Limit.of(10)).size() == 4);
+
+        mockMvc.perform(get("/auth/audit").param("login", login)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.generateToken(user("auditor@example.com", UserRole.ADMIN))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].type").value("TOKEN_REJECTED"))
+                .andExpect(jsonPath("$[0].detail").value("revoked"))
+                .andExpect(jsonPath("$[0].remoteAddress").value("127.0.0.1"))
+                .andExpect(jsonPath("$[1].type").value("LOGIN_SUCCEEDED"))
+                .andExpect(jsonPath("$[2].type").value("LOGIN_FAILED"))
+                .andExpect(jsonPath("$[2].detail").value("bad-credentials"))
+                .andExpect(jsonPath("$[3].type").value("REGISTERED"));
+    }
+
+    @Test
+    void testCallerWithoutPermissionIsForbidden() throws Exception {
+        mockMvc.perform(get("/auth/audit").param("login", "audited@example.com")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.generateToken(user("reader@example.com", UserRole.USER))))
+                .andExpect(status().isForbidden());
+    }
+
+    private User user(String login, UserRole role) {
+        User user = (User) repository.findByLogin(login);
+        return user != null ? user : repository.save(new User("Audit", login, "hash", role));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+}
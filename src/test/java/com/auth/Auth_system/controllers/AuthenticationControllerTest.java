@@ -1,20 +1,49 @@
 package com.auth.Auth_system.controllers;
 
+import com.auth.Auth_system.domain.audit.AuditEventType;
 import com.auth.Auth_system.domain.user.*;
 import com.auth.Auth_system.exceptions.*;
 import com.auth.Auth_system.repositories.UserRepository;
+import com.auth.Auth_system.infra.audit.AuditLog;
+import com.auth.Auth_system.infra.datasource.ReadYourWrites;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.security.LoginAttemptTracker;
+import com.auth.Auth_system.infra.security.PasswordHashingExecutor;
 import com.auth.Auth_system.infra.security.TokenService;
+import com.auth.Auth_system.infra.security.VerifiedToken;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import com.auth.Auth_system.services.AuthorizationService;
+import com.auth.Auth_system.services.RefreshTokenService;
+import com.auth.Auth_system.services.UserValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletionException;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,9 +60,52 @@ public class AuthenticationControllerTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private LoginAttemptTracker loginAttempts;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private AuthorizationService authorizationService;
+
+    @Spy
+    private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @Spy
+    private UserValidator userValidator = new UserValidator();
+
+    @Spy
+    private AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private AuthenticationController authenticationController;
 
+    private PasswordHashingExecutor hashingExecutor;
+
+    @BeforeEach
+    void setUp() {
+        hashingExecutor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(hashingExecutor, "threads", 2);
+        ReflectionTestUtils.setField(hashingExecutor, "queueCapacity", 16);
+        ReflectionTestUtils.setField(hashingExecutor, "retryAfter", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(hashingExecutor, "authMetrics", authMetrics);
+        ReflectionTestUtils.invokeMethod(hashingExecutor, "init");
+        ReflectionTestUtils.setField(authenticationController, "hashingExecutor", hashingExecutor);
+        ReflectionTestUtils.setField(authenticationController, "taskExecutor", new SimpleAsyncTaskExecutor("continuation-"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(hashingExecutor, "shutdown");
+    }
+
     @Test
     void testLogin() {
         String login = "test@example.com";
@@ -46,11 +118,21 @@ public class AuthenticationControllerTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(mockAuthentication);
         when(tokenService.generateToken(mockUser)).thenReturn("generated-token");
+        List<String> insertThreads = new CopyOnWriteArrayList<>();
+        when(refreshTokenService.create(mockUser)).thenAnswer(invocation -> {
+            insertThreads.add(Thread.currentThread().getName());
+            return "refresh-token";
+        });
 
-        ResponseEntity<LoginResponseDTO> response = authenticationController.login(authDTO);
+        ResponseEntity<LoginResponseDTO> response = authenticationController.login(authDTO).join();
 
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody().token());
+        assertEquals("refresh-token", response.getBody().refreshToken());
+        verify(loginAttempts).succeeded(TenantContext.DEFAULT_TENANT, login);
+        verify(authorizationService).upgradePassword(mockUser, password);
+        verify(auditLog).record(AuditEventType.LOGIN_SUCCEEDED, TenantContext.DEFAULT_TENANT, login, null, null);
+        assertTrue(insertThreads.get(0).startsWith("continuation-"), "refresh token stored on " + insertThreads.get(0));
     }
 
     @Test
@@ -58,34 +140,65 @@ public class AuthenticationControllerTest {
         String login = "existing@example.com";
         RegisterDTO registerDTO = new RegisterDTO("Test User", login, "password123", UserRole.USER);
 
-        when(repository.findByLogin(login)).thenReturn(new User("Test User", login, "password123", UserRole.USER));
+        when(repository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), User.LOGIN_CONSTRAINT)));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> authenticationController.register(registerDTO).join());
+        assertInstanceOf(UserAlreadyExistsException.class, exception.getCause());
+    }
+
+    @Test
+    void testOtherConstraintViolationIsNotAConflict() {
+        RegisterDTO registerDTO = new RegisterDTO("Test User", "unnamed@example.com", "password123", UserRole.USER);
+
+        when(repository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException(), null)));
 
-        assertThrows(UserAlreadyExistsException.class, () -> authenticationController.register(registerDTO));
+        CompletionException exception = assertThrows(CompletionException.class, () -> authenticationController.register(registerDTO).join());
+        assertInstanceOf(DataIntegrityViolationException.class, exception.getCause());
+        verify(authMetrics, never()).registerConflict();
     }
 
     @Test
     void testRegisterNewUser() {
         String login = "newuser@example.com";
         RegisterDTO registerDTO = new RegisterDTO("New User", login, "password123", UserRole.USER);
+        List<String> insertThreads = new CopyOnWriteArrayList<>();
+        when(repository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            insertThreads.add(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
 
-        when(repository.findByLogin(login)).thenReturn(null);
+        ResponseEntity<Void> response = authenticationController.register(registerDTO).join();
 
-        ResponseEntity<Void> response = authenticationController.register(registerDTO);
-
-        verify(repository, times(1)).save(any(User.class));
+        verify(repository, never()).findByLogin(login);
+        verify(repository, times(1)).saveAndFlush(any(User.class));
         assertEquals(200, response.getStatusCodeValue());
+        assertTrue(insertThreads.get(0).startsWith("continuation-"), "insert ran on " + insertThreads.get(0));
     }
 
     @Test
     void testGetAllUsers() {
-        List<User> users = List.of(new User("Test User", "test@example.com", "password", UserRole.USER));
-        when(repository.findAll()).thenReturn(users);
+        List<UserSummaryDTO> users = List.of(new UserSummaryDTO("id-1", "Test User", "test@example.com", UserRole.USER));
+        when(repository.findPageAfter(TenantContext.DEFAULT_TENANT, "", Limit.of(50))).thenReturn(users);
 
-        ResponseEntity<List<User>> response = authenticationController.getAllUsers();
+        ResponseEntity<UserPageDTO> response = authenticationController.getAllUsers("", 50, bearer(TenantContext.DEFAULT_TENANT));
 
         assertEquals(200, response.getStatusCodeValue());
-        assertFalse(response.getBody().isEmpty());
-        assertEquals(1, response.getBody().size());
+        assertEquals(1, response.getBody().users().size());
+        assertNull(response.getBody().nextCursor());
+    }
+
+    @Test
+    void testGetAllUsersReturnsCursorForFullPage() {
+        List<UserSummaryDTO> users = List.of(
+                new UserSummaryDTO("id-1", "First User", "first@example.com", UserRole.USER),
+                new UserSummaryDTO("id-2", "Second User", "second@example.com", UserRole.ADMIN));
+        when(repository.findPageAfter(TenantContext.DEFAULT_TENANT, "id-0", Limit.of(2))).thenReturn(users);
+
+        ResponseEntity<UserPageDTO> response = authenticationController.getAllUsers("id-0", 2, bearer(TenantContext.DEFAULT_TENANT));
+
+        assertEquals("id-2", response.getBody().nextCursor());
     }
 
     @Test
@@ -100,7 +213,7 @@ public class AuthenticationControllerTest {
         assertThrows(NameValidationException.class, () -> authenticationController.register(nullNameDTO));
         assertThrows(NameValidationException.class, () -> authenticationController.register(emptyNameDTO));
         assertThrows(NameValidationException.class, () -> authenticationController.register(shortNameDTO));
-        assertDoesNotThrow(() -> authenticationController.register(validNameDTO));
+        assertDoesNotThrow(() -> authenticationController.register(validNameDTO).join());
     }
 
     @Test
@@ -110,7 +223,7 @@ public class AuthenticationControllerTest {
         RegisterDTO validEmailDTO = new RegisterDTO("Test User", "valid@example.com", password, UserRole.USER);
 
         assertThrows(EmailValidationException.class, () -> authenticationController.register(invalidEmailDTO));
-        assertDoesNotThrow(() -> authenticationController.register(validEmailDTO));
+        assertDoesNotThrow(() -> authenticationController.register(validEmailDTO).join());
     }
 
     @Test
@@ -120,7 +233,7 @@ public class AuthenticationControllerTest {
         RegisterDTO validPasswordDTO = new RegisterDTO("Test User", login, "password123", UserRole.USER);
 
         assertThrows(PasswordValidationException.class, () -> authenticationController.register(shortPasswordDTO));
-        assertDoesNotThrow(() -> authenticationController.register(validPasswordDTO));
+        assertDoesNotThrow(() -> authenticationController.register(validPasswordDTO).join());
     }
 
     @Test
@@ -132,7 +245,48 @@ public class AuthenticationControllerTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new RuntimeException("Invalid credentials"));
 
-        assertThrows(RuntimeException.class, () -> authenticationController.login(authDTO));
+        CompletionException exception = assertThrows(CompletionException.class, () -> authenticationController.login(authDTO).join());
+        assertEquals("Invalid credentials", exception.getCause().getMessage());
+        verify(loginAttempts, never()).failed(any(), any());
+    }
+
+    @Test
+    void testFailedLoginIsTracked() {
+        AuthenticationDTO authDTO = new AuthenticationDTO("test@example.com", "wrongpassword");
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(CompletionException.class, () -> authenticationController.login(authDTO).join());
+        verify(loginAttempts).failed(TenantContext.DEFAULT_TENANT, "test@example.com");
+        verify(authorizationService, never()).upgradePassword(any(), any());
+        verify(auditLog).record(AuditEventType.LOGIN_FAILED, TenantContext.DEFAULT_TENANT, "test@example.com", "bad-credentials", null);
+    }
+
+    @Test
+    void testLoginRejectedAtCapacityIsTimedAndAudited() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2 + 16; i++) {
+            hashingExecutor.submit(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            });
+        }
+        try {
+            AuthenticationDTO authDTO = new AuthenticationDTO("test@example.com", "password123");
+
+            CompletionException exception = assertThrows(CompletionException.class, () -> authenticationController.login(authDTO).join());
+            assertInstanceOf(HashingCapacityExceededException.class, exception.getCause());
+            verify(authMetrics).login(anyLong(), eq(false));
+            verify(auditLog).record(AuditEventType.LOGIN_FAILED, TenantContext.DEFAULT_TENANT, "test@example.com", "capacity", null);
+            verify(authenticationManager, never()).authenticate(any());
+            verify(loginAttempts, never()).failed(any(), any());
+        } finally {
+            release.countDown();
+        }
     }
 
     @Test
@@ -141,12 +295,18 @@ public class AuthenticationControllerTest {
         String password = "password123";
         RegisterDTO registerDTO = new RegisterDTO("Test User", login, password, UserRole.USER);
 
-        when(repository.findByLogin(login)).thenReturn(null);
-        when(repository.save(any(User.class))).thenReturn(new User("Test User", login, "encrypted-password", UserRole.USER));
+        when(repository.saveAndFlush(any(User.class))).thenReturn(new User("Test User", login, "encrypted-password", UserRole.USER));
 
-        ResponseEntity<Void> response = authenticationController.register(registerDTO);
+        ResponseEntity<Void> response = authenticationController.register(registerDTO).join();
 
-        verify(repository, times(1)).save(any(User.class));
+        verify(repository, times(1)).saveAndFlush(any(User.class));
+        verify(passwordEncoder, times(1)).encode(password);
         assertEquals(200, response.getStatusCodeValue());
     }
+
+    private static Authentication bearer(String tenant) {
+        var authentication = new UsernamePasswordAuthenticationToken("caller@example.com", null, List.of());
+        authentication.setDetails(new VerifiedToken("token-id", "caller@example.com", tenant, null, null, Instant.now().plusSeconds(60)));
+        return authentication;
+    }
 }
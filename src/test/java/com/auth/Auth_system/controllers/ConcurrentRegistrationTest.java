@@ -0,0 +1,75 @@
+package com.auth.Auth_system.controllers;
+
+import com.auth.Auth_system.domain.user.RegisterDTO;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.exceptions.UserAlreadyExistsException;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import com.auth.Auth_system.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "api.security.password.calibrate=false",
+        "api.security.password.bcrypt.strength=4"
+})
+@ActiveProfiles("test")
+public class ConcurrentRegistrationTest {
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AuthenticationController authenticationController;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Test
+    void testConcurrentRegistrationCreatesSingleUser() throws Exception {
+        String login = "race@example.com";
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                RegisterDTO data = new RegisterDTO("Racer " + i, login, "password123", UserRole.USER);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    CompletableFuture<?> registration = authenticationController.register(data);
+                    try {
+                        registration.join();
+                        created.incrementAndGet();
+                    } catch (CompletionException e) {
+                        assertInstanceOf(UserAlreadyExistsException.class, e.getCause());
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, created.get());
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(1, repository.findExistingLogins(TenantContext.DEFAULT_TENANT, List.of(login)).size());
+    }
+}
@@ -0,0 +1,97 @@
+package com.auth.Auth_system.controllers;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.security.TokenService;
+import com.auth.Auth_system.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "api.security.password.calibrate=false",
+        "api.security.introspection.max-age=30s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TokenIntrospectionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private String gatewayToken;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        gatewayToken = tokenService.generateToken(user("gateway@example.com", UserRole.ADMIN));
+        userToken = tokenService.generateToken(user("subject@example.com", UserRole.USER));
+    }
+
+    @Test
+    void testIntrospectsBatchInRequestOrder() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + gatewayToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[\"" + userToken + "\",\"not-a-token\",\"\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, private"))
+                .andExpect(jsonPath("$.results.length()").value(3))
+                .andExpect(jsonPath("$.results[0].active").value(true))
+                .andExpect(jsonPath("$.results[0].sub").value("subject@example.com"))
+                .andExpect(jsonPath("$.results[0].tid").value("default"))
+                .andExpect(jsonPath("$.results[0].role").value("USER"))
+                .andExpect(jsonPath("$.results[0].authorities", hasItems("ROLE_USER", "users:read")))
+                .andExpect(jsonPath("$.results[0].exp").isNumber())
+                .andExpect(jsonPath("$.results[1].active").value(false))
+                .andExpect(jsonPath("$.results[1].sub").doesNotExist())
+                .andExpect(jsonPath("$.results[2].active").value(false));
+    }
+
+    @Test
+    void testCallerWithoutTokenIsUnauthorized() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[\"" + userToken + "\"]}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testCallerWithoutPermissionIsForbidden() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[\"" + userToken + "\"]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testEmptyBatchIsRejected() throws Exception {
+        mockMvc.perform(post("/auth/introspect")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + gatewayToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private User user(String login, UserRole role) {
+        User user = (User) repository.findByLogin(login);
+        return user != null ? user : repository.save(new User("Introspection", login, "hash", role));
+    }
+}
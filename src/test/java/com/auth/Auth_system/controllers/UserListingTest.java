@@ -0,0 +1,80 @@
+package com.auth.Auth_system.controllers;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.security.TokenService;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import com.auth.Auth_system.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "api.security.password.calibrate=false",
+        "api.security.password.bcrypt.strength=4"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UserListingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void testAnonymousCallerIsForbidden() throws Exception {
+        mockMvc.perform(get("/auth/users")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/auth/users/stream")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testCallerWithUsersReadMayList() throws Exception {
+        String token = tokenService.generateToken(user(TenantContext.DEFAULT_TENANT, "reader@example.com"));
+
+        mockMvc.perform(get("/auth/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[?(@.login == 'reader@example.com')]").exists());
+    }
+
+    @Test
+    void testTenantComesFromTokenNotHeader() throws Exception {
+        user("globex", "hidden@example.com");
+        String token = tokenService.generateToken(user("acme", "member@example.com"));
+
+        mockMvc.perform(get("/auth/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + token).header(TenantContext.HEADER, "globex"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[?(@.login == 'member@example.com')]").exists())
+                .andExpect(jsonPath("$.users[?(@.login == 'hidden@example.com')]").doesNotExist());
+
+        MvcResult started = mockMvc.perform(get("/auth/users/stream").header(HttpHeaders.AUTHORIZATION, "Bearer " + token).header(TenantContext.HEADER, "globex"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("member@example.com"));
+        assertFalse(body.contains("hidden@example.com"));
+    }
+
+    private User user(String tenant, String login) {
+        User user = (User) repository.findByLogin(tenant, login);
+        return user != null ? user : repository.save(new User("Listed", login, "hash", UserRole.USER, tenant));
+    }
+}
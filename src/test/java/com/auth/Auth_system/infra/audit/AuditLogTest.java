@@ -0,0 +1,130 @@
+package com.auth.Auth_system.infra.audit;
+
+import com.auth.Auth_system.domain.audit.AuditEvent;
+import com.auth.Auth_system.domain.audit.AuditEventType;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.repositories.AuditEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class AuditLogTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AuthMetrics authMetrics = new AuthMetrics(registry);
+
+    @Test
+    void testFullBufferDropsAndCounts() {
+        AuditLog auditLog = new AuditLog(4, 4, authMetrics);
+        for (int i = 0; i < 6; i++) {
+            auditLog.record(AuditEventType.LOGIN_FAILED, "acme", "user" + i + "@example.com", "bad-credentials", null);
+        }
+
+        List<AuditEvent> drained = new ArrayList<>();
+        assertEquals(4, auditLog.drainTo(drained, 10));
+        assertEquals(List.of("user0@example.com", "user1@example.com", "user2@example.com", "user3@example.com"),
+                drained.stream().map(AuditEvent::getLogin).toList());
+        assertEquals(2, registry.get("auth.audit.events").tag("outcome", "dropped").counter().count());
+
+        auditLog.record(AuditEventType.REGISTERED, null, "late@example.com", null, null);
+        drained.clear();
+        auditLog.drainTo(drained, 10);
+        assertEquals("default", drained.get(0).getTenant());
+    }
+
+    @Test
+    void testTokenRejectionsLeaveRoomForLogins() {
+        AuditLog auditLog = new AuditLog(8, 2, authMetrics);
+        for (int i = 0; i < 4; i++) {
+            auditLog.record(AuditEventType.TOKEN_REJECTED, "acme", null, "malformed", null);
+        }
+        for (int i = 0; i < 6; i++) {
+            auditLog.record(AuditEventType.LOGIN_FAILED, "acme", "user" + i + "@example.com", "bad-credentials", null);
+        }
+
+        List<AuditEvent> drained = new ArrayList<>();
+        auditLog.drainTo(drained, 10);
+        assertEquals(2, drained.stream().filter(event -> event.getType() == AuditEventType.TOKEN_REJECTED).count());
+        assertEquals(6, drained.stream().filter(event -> event.getType() == AuditEventType.LOGIN_FAILED).count());
+        assertEquals(2, registry.get("auth.audit.events").tag("outcome", "dropped").counter().count());
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws Exception {
+        int producers = 8;
+        int perProducer = 10_000;
+        AuditLog auditLog = new AuditLog(1024, 1024, authMetrics);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            String login = "producer" + p;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    auditLog.record(AuditEventType.LOGIN_SUCCEEDED, "default", login, String.valueOf(i), null);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        Set<String> seen = new HashSet<>();
+        List<AuditEvent> batch = new ArrayList<>();
+        while (!executor.isTerminated() || auditLog.backlog() > 0) {
+            auditLog.drainTo(batch, 256);
+            batch.forEach(event -> assertTrue(seen.add(event.getLogin() + "/" + event.getDetail())));
+            batch.clear();
+        }
+        double dropped = registry.get("auth.audit.events").tag("outcome", "dropped").counter().count();
+        assertEquals(producers * perProducer, seen.size() + (long) dropped);
+    }
+
+    @Test
+    void testWriterFlushesInBatchesAndCountsFailures() {
+        AuditLog auditLog = new AuditLog(64, 64, authMetrics);
+        AuditEventRepository repository = mock(AuditEventRepository.class);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            if (batchSizes.size() == 2) {
+                throw new DataAccessResourceFailureException("down");
+            }
+            return batch;
+        });
+        AuditWriter writer = new AuditWriter();
+        ReflectionTestUtils.setField(writer, "batchSize", 4);
+        ReflectionTestUtils.setField(writer, "auditLog", auditLog);
+        ReflectionTestUtils.setField(writer, "repository", repository);
+        ReflectionTestUtils.setField(writer, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(writer, "authMetrics", authMetrics);
+
+        for (int i = 0; i < 10; i++) {
+            auditLog.record(AuditEventType.LOGIN_SUCCEEDED, "default", "user@example.com", null, null);
+        }
+        writer.flush();
+
+        assertEquals(List.of(4, 4, 2), batchSizes);
+        assertEquals(0, auditLog.backlog());
+        assertEquals(6, registry.get("auth.audit.events").tag("outcome", "written").counter().count());
+        assertEquals(4, registry.get("auth.audit.events").tag("outcome", "failed").counter().count());
+    }
+}
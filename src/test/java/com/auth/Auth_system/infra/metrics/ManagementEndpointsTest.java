@@ -0,0 +1,56 @@
+package com.auth.Auth_system.infra.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "api.security.password.calibrate=false",
+        "api.security.password.bcrypt.strength=4"
+})
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class ManagementEndpointsTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void testMetricsAreNotServedOnTheApplicationPort() {
+        assertNotEquals(serverPort, managementPort);
+
+        ResponseEntity<String> response = restTemplate.getForEntity("http://localhost:" + serverPort + "/actuator/prometheus", String.class);
+
+        assertNotEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(String.valueOf(response.getBody()).contains("auth_password_hash"));
+    }
+
+    @Test
+    void testMetricsAreServedOnTheManagementPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity("http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), response.getBody());
+        assertTrue(response.getBody().contains("auth_password_hash"));
+    }
+
+    @Test
+    void testProbesStayOnTheApplicationPort() {
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity("http://localhost:" + serverPort + "/readyz", String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity("http://localhost:" + serverPort + "/livez", String.class).getStatusCode());
+    }
+}
@@ -0,0 +1,75 @@
+package com.auth.Auth_system.infra.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+    @Test
+    void testLoaderRunsOnlyOnMiss() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("value", cache.get("key", k -> { loads.incrementAndGet(); return "value"; }));
+        assertEquals("value", cache.get("key", k -> { loads.incrementAndGet(); return "other"; }));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    void testExpiredEntryIsNotReturned() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        cache.put("key", "value", System.currentTimeMillis() - 1);
+
+        assertNull(cache.get("key"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100, Duration.ofMinutes(1));
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, i);
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.stats().evictions() >= 900);
+    }
+
+    @Test
+    void testInvalidate() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        cache.put("key", "value");
+        cache.invalidate("key");
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void testValueLoadedAcrossInvalidationIsNotKept() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+
+        assertEquals("stale", cache.get("key", k -> { cache.invalidate(k); return "stale"; }));
+        assertNull(cache.get("key"));
+        assertEquals("fresh", cache.get("key", k -> "fresh"));
+        assertEquals("fresh", cache.get("key"));
+    }
+
+    @Test
+    void testPutWithOldGenerationIsDroppedAfterClear() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1));
+        long generation = cache.generation("key");
+        cache.clear();
+
+        assertFalse(cache.putIfCurrent("key", "stale", generation));
+        assertNull(cache.get("key"));
+        assertTrue(cache.putIfCurrent("key", "fresh", cache.generation("key")));
+    }
+}
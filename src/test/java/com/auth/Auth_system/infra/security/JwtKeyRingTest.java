@@ -0,0 +1,108 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.audit.AuditLog;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth0.jwt.JWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtKeyRingTest {
+
+    static JwtKeyRing keyRing(JwtKeyRing.SigningAlgorithm algorithm) {
+        JwtKeyRing keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "secret", "test-secret");
+        ReflectionTestUtils.setField(keyRing, "signingAlgorithm", algorithm);
+        ReflectionTestUtils.setField(keyRing, "expiration", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(keyRing, "claimsModeExpiration", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(keyRing, "jwksMaxAge", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(keyRing, "keyStorePath", "");
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+        return keyRing;
+    }
+
+    private static TokenService tokenService(JwtKeyRing keyRing) {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "keyRing", keyRing);
+        ReflectionTestUtils.setField(tokenService, "expiration", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(tokenService, "claimsModeExpiration", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(tokenService, "cacheTtl", Duration.ZERO);
+        ReflectionTestUtils.setField(tokenService, "cacheMaxSize", 100);
+        AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenService, "authMetrics", authMetrics);
+        ReflectionTestUtils.setField(tokenService, "auditLog", new AuditLog(64, 64, authMetrics));
+        ReflectionTestUtils.setField(tokenService, "denylist", new TokenDenylist(new LocalSecurityStateStore()));
+        ReflectionTestUtils.setField(tokenService, "roleRegistry", new RoleRegistry());
+        tokenService.init();
+        return tokenService;
+    }
+
+    @Test
+    void testSymmetricKeyIsNeverPublished() {
+        JwtKeyRing keyRing = keyRing(JwtKeyRing.SigningAlgorithm.HS256);
+
+        assertEquals(List.of(), keyRing.jwks().get("keys"));
+        assertNull(keyRing.signingKeyId());
+    }
+
+    @Test
+    void testTokensCarryKidOfPublishedKey() {
+        JwtKeyRing keyRing = keyRing(JwtKeyRing.SigningAlgorithm.RS256);
+        User user = new User("user-id", "Test User", "test@example.com", "hash", UserRole.USER);
+
+        String token = tokenService(keyRing).generateToken(user);
+
+        assertEquals(keyRing.signingKeyId(), JWT.decode(token).getKeyId());
+        assertEquals("RS256", JWT.decode(token).getAlgorithm());
+        assertTrue(kids(keyRing).contains(keyRing.signingKeyId()));
+    }
+
+    @Test
+    void testRotationKeepsOldTokensValidAndPrePublishesNextKey() throws Exception {
+        JwtKeyRing keyRing = keyRing(JwtKeyRing.SigningAlgorithm.ES256);
+        TokenService tokenService = tokenService(keyRing);
+        User user = new User("user-id", "Test User", "test@example.com", "hash", UserRole.USER);
+        String before = tokenService.generateToken(user);
+        String pending = kids(keyRing).get(0);
+
+        keyRing.rotate();
+
+        assertEquals(pending, keyRing.signingKeyId());
+        assertEquals(3, kids(keyRing).size());
+        assertEquals("test@example.com", tokenService.validateToken(before));
+        assertEquals(pending, JWT.decode(tokenService.generateToken(user)).getKeyId());
+    }
+
+    @Test
+    void testTokenFromAnotherRingIsRejected() {
+        User user = new User("user-id", "Test User", "test@example.com", "hash", UserRole.USER);
+        String foreign = tokenService(keyRing(JwtKeyRing.SigningAlgorithm.RS256)).generateToken(user);
+
+        assertEquals("", tokenService(keyRing(JwtKeyRing.SigningAlgorithm.RS256)).validateToken(foreign));
+    }
+
+    @Test
+    void testEcJwkHasFixedSizeCoordinates() {
+        Map<?, ?> jwk = (Map<?, ?>) ((List<?>) keyRing(JwtKeyRing.SigningAlgorithm.ES256).jwks().get("keys")).get(0);
+
+        assertEquals("EC", jwk.get("kty"));
+        assertEquals("P-256", jwk.get("crv"));
+        assertEquals(43, ((String) jwk.get("x")).length());
+        assertEquals(43, ((String) jwk.get("y")).length());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> kids(JwtKeyRing keyRing) {
+        return ((List<Map<String, Object>>) keyRing.jwks().get("keys")).stream()
+                .map(jwk -> (String) jwk.get("kid"))
+                .toList();
+    }
+}
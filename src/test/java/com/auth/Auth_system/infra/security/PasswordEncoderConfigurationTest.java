@@ -0,0 +1,104 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordEncoderConfigurationTest {
+
+    @Test
+    void testCalibrationStopsAtMaxStrength() {
+        PasswordEncoder encoder = configuration(4, 6, Duration.ofHours(1)).passwordEncoder(new AuthMetrics(new SimpleMeterRegistry()));
+
+        assertTrue(encoder.encode("password123").startsWith("{bcrypt}$2a$06$"));
+    }
+
+    @Test
+    void testCalibrationNeverGoesBelowConfiguredStrength() {
+        PasswordEncoder encoder = configuration(5, 8, Duration.ofNanos(1)).passwordEncoder(new AuthMetrics(new SimpleMeterRegistry()));
+
+        assertTrue(encoder.encode("password123").startsWith("{bcrypt}$2a$05$"));
+    }
+
+    @Test
+    void testCalibratedStrengthStaysWithinBounds() {
+        String hash = configuration(4, 8, Duration.ofMillis(5)).passwordEncoder(new AuthMetrics(new SimpleMeterRegistry())).encode("password123");
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$"));
+        int strength = Integer.parseInt(hash.substring("{bcrypt}$2a$".length(), "{bcrypt}$2a$".length() + 2));
+        assertTrue(strength >= 4 && strength <= 8, "strength " + strength);
+    }
+
+    @Test
+    void testWeakerAndUnprefixedHashesNeedUpgrade() {
+        PasswordEncoder current = configuration(5, 5, Duration.ofMillis(1)).passwordEncoder(new AuthMetrics(new SimpleMeterRegistry()));
+        PasswordEncoder weaker = configuration(4, 4, Duration.ofMillis(1)).passwordEncoder(new AuthMetrics(new SimpleMeterRegistry()));
+        String unprefixed = new BCryptPasswordEncoder(5).encode("password123");
+
+        assertTrue(current.upgradeEncoding(weaker.encode("password123")));
+        assertTrue(current.matches("password123", unprefixed));
+        assertTrue(current.upgradeEncoding(unprefixed));
+        assertFalse(current.upgradeEncoding(current.encode("password123")));
+    }
+
+    @Test
+    void testPbkdf2HashesWithFewerIterationsNeedUpgrade() {
+        PasswordEncoder current = pbkdf2(2000);
+        String weaker = pbkdf2(1000).encode("password123");
+        String unprefixed = "{pbkdf2}" + new Pbkdf2PasswordEncoder("", 16, 2000,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256).encode("password123");
+
+        assertTrue(weaker.startsWith("{pbkdf2}1000$"), weaker);
+        assertTrue(current.matches("password123", weaker));
+        assertFalse(current.matches("wrong-password", weaker));
+        assertTrue(current.upgradeEncoding(weaker));
+        assertTrue(current.matches("password123", unprefixed));
+        assertTrue(current.upgradeEncoding(unprefixed));
+        assertFalse(current.upgradeEncoding(current.encode("password123")));
+        assertTrue(pbkdf2(1000).matches("password123", current.encode("password123")));
+    }
+
+    @Test
+    void testEachHashAndVerificationIsTimed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordEncoder encoder = configuration(4, 4, Duration.ofMillis(1)).passwordEncoder(new AuthMetrics(registry));
+
+        String hash = encoder.encode("password123");
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong-password", hash));
+        encoder.upgradeEncoding(hash);
+
+        Timer timer = registry.get("auth.password.hash").timer();
+        assertEquals(3, timer.count());
+    }
+
+    private static PasswordEncoder pbkdf2(int iterations) {
+        PasswordEncoderConfiguration configuration = configuration(4, 4, Duration.ofMillis(1));
+        ReflectionTestUtils.setField(configuration, "algorithm", "pbkdf2");
+        ReflectionTestUtils.setField(configuration, "calibrate", false);
+        ReflectionTestUtils.setField(configuration, "pbkdf2Iterations", iterations);
+        return configuration.passwordEncoder(new AuthMetrics(new SimpleMeterRegistry()));
+    }
+
+    static PasswordEncoderConfiguration configuration(int strength, int maxStrength, Duration target) {
+        PasswordEncoderConfiguration configuration = new PasswordEncoderConfiguration();
+        ReflectionTestUtils.setField(configuration, "algorithm", "bcrypt");
+        ReflectionTestUtils.setField(configuration, "calibrate", true);
+        ReflectionTestUtils.setField(configuration, "targetHashTime", target);
+        ReflectionTestUtils.setField(configuration, "bcryptStrength", strength);
+        ReflectionTestUtils.setField(configuration, "bcryptMaxStrength", maxStrength);
+        ReflectionTestUtils.setField(configuration, "pbkdf2Iterations", 1000);
+        ReflectionTestUtils.setField(configuration, "argon2Iterations", 1);
+        ReflectionTestUtils.setField(configuration, "argon2MemoryKib", 1024);
+        return configuration;
+    }
+}
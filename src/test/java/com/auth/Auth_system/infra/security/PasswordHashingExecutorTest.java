@@ -0,0 +1,103 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.exceptions.HashingCapacityExceededException;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(executor, "threads", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "retryAfter", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(executor, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.invokeMethod(executor, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(executor, "shutdown");
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        var first = executor.submit(() -> {
+            running.countDown();
+            await(release);
+            return "first";
+        });
+        running.await();
+        var queued = executor.submit(() -> "queued");
+
+        var rejected = executor.submit(() -> "rejected");
+
+        CompletionException failure = assertThrows(CompletionException.class, rejected::join);
+        HashingCapacityExceededException exception = assertInstanceOf(HashingCapacityExceededException.class, failure.getCause());
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1, executor.queueDepth());
+
+        release.countDown();
+        assertEquals("first", first.join());
+        assertEquals("queued", queued.join());
+        assertEquals(1, executor.stats().rejected());
+    }
+
+    @Test
+    void testBulkJobLeavesWorkersForInteractiveTasks() throws InterruptedException {
+        PasswordHashingExecutor pool = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(pool, "threads", 4);
+        ReflectionTestUtils.setField(pool, "bulkThreads", 2);
+        ReflectionTestUtils.setField(pool, "queueCapacity", 16);
+        ReflectionTestUtils.setField(pool, "retryAfter", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(pool, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.invokeMethod(pool, "init");
+        try {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            List<Integer> items = IntStream.range(0, 40).boxed().toList();
+
+            List<Integer> results = pool.invokeAll(items, item -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return item * 2;
+            });
+
+            assertEquals(IntStream.range(0, 40).map(i -> i * 2).boxed().toList(), results);
+            assertTrue(maxRunning.get() <= 2, "max concurrent slices " + maxRunning.get());
+        } finally {
+            ReflectionTestUtils.invokeMethod(pool, "shutdown");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
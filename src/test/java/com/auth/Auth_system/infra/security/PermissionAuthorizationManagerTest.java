@@ -0,0 +1,73 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.Permission;
+import com.auth.Auth_system.domain.user.RoleDefinition;
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PermissionAuthorizationManagerTest {
+
+    private final PermissionAuthorizationManager importUsers = PermissionAuthorizationManager.requires(Permission.USERS_IMPORT);
+
+    @Test
+    void testBuiltInRolesResolveToSharedAuthorities() {
+        User admin = new User("admin-id", "Admin", "admin@example.com", "hash", UserRole.ADMIN);
+        User other = new User("other-id", "Other", "other@example.com", "hash", UserRole.ADMIN);
+
+        assertSame(admin.getAuthorities(), other.getAuthorities());
+        assertTrue(admin.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
+        assertTrue(admin.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("users:import")));
+    }
+
+    @Test
+    void testPermissionIsCheckedAgainstRole() {
+        assertTrue(granted(new User("admin-id", "Admin", "admin@example.com", "hash", UserRole.ADMIN)));
+        assertFalse(granted(new User("user-id", "User", "user@example.com", "hash", UserRole.USER)));
+    }
+
+    @Test
+    void testEveryBuiltInRoleMayReadUsers() {
+        PermissionAuthorizationManager readUsers = PermissionAuthorizationManager.requires(Permission.USERS_READ);
+        User user = new User("user-id", "User", "user@example.com", "hash", UserRole.USER);
+        User importer = new User("importer-id", "Importer", "importer@example.com", "hash", UserRole.USER);
+        ReflectionTestUtils.setField(importer, "customRole", new RoleDefinition("importer", Permission.mask(Permission.USERS_IMPORT)));
+
+        assertTrue(readUsers.authorize(() -> authentication(user), null).isGranted());
+        assertFalse(readUsers.authorize(() -> authentication(importer), null).isGranted());
+    }
+
+    @Test
+    void testCustomRoleOverridesBuiltInRole() {
+        User user = new User("user-id", "User", "user@example.com", "hash", UserRole.USER);
+        ReflectionTestUtils.setField(user, "customRole", new RoleDefinition("importer", Permission.mask(Permission.USERS_IMPORT)));
+
+        assertTrue(granted(user));
+        assertEquals("ROLE_IMPORTER", user.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void testFallsBackToAuthorityNames() {
+        Authentication withAuthority = new TestingAuthenticationToken("service", null, "users:import");
+        Authentication without = new TestingAuthenticationToken("service", null, "users:read");
+        withAuthority.setAuthenticated(true);
+        without.setAuthenticated(true);
+
+        assertTrue(importUsers.authorize(() -> withAuthority, null).isGranted());
+        assertFalse(importUsers.authorize(() -> without, null).isGranted());
+    }
+
+    private boolean granted(User user) {
+        return importUsers.authorize(() -> authentication(user), null).isGranted();
+    }
+
+    private static Authentication authentication(User user) {
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
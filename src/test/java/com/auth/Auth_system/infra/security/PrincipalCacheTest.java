@@ -0,0 +1,107 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrincipalCacheTest {
+
+    private final LocalSecurityStateStore stateStore = new LocalSecurityStateStore();
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache();
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cache, "maxSize", 10);
+        ReflectionTestUtils.setField(cache, "maxTenants", 2);
+        ReflectionTestUtils.setField(cache, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(cache, "stateStore", stateStore);
+        ReflectionTestUtils.setField(cache, "entityManagerFactory", new StaticListableBeanFactory().getBeanProvider(EntityManagerFactory.class));
+        cache.init();
+    }
+
+    @Test
+    void testSameLoginIsIsolatedPerTenant() {
+        User acme = user("acme");
+        User globex = user("globex");
+        cache.put("acme", "same@example.com", acme);
+        cache.put("globex", "same@example.com", globex);
+
+        assertSame(acme, cache.getIfPresent("acme", "same@example.com"));
+        assertSame(globex, cache.getIfPresent("globex", "same@example.com"));
+
+        cache.invalidate("acme", "same@example.com");
+
+        assertNull(cache.getIfPresent("acme", "same@example.com"));
+        assertSame(globex, cache.getIfPresent("globex", "same@example.com"));
+    }
+
+    @Test
+    void testTenantFloodOnlyEvictsItsOwnPartition() {
+        User acme = user("acme");
+        cache.put("acme", "kept@example.com", acme);
+        for (int i = 0; i < 100; i++) {
+            cache.put("noisy", "user-" + i + "@example.com", user("noisy"));
+        }
+
+        assertSame(acme, cache.getIfPresent("acme", "kept@example.com"));
+        assertTrue(cache.stats().size() <= 20);
+    }
+
+    @Test
+    void testTenantsPastQuotaShareOverflowPartition() {
+        cache.put("acme", "a@example.com", user("acme"));
+        cache.put("globex", "a@example.com", user("globex"));
+        User initech = user("initech");
+        User umbrella = user("umbrella");
+        cache.put("initech", "a@example.com", initech);
+        cache.put("umbrella", "a@example.com", umbrella);
+
+        assertSame(initech, cache.getIfPresent("initech", "a@example.com"));
+        assertSame(umbrella, cache.getIfPresent("umbrella", "a@example.com"));
+        assertEquals(4, cache.stats().size());
+    }
+
+    @Test
+    void testStoreInvalidationEvictsTenantEntry() {
+        User acme = user("acme");
+        cache.put("acme", "same@example.com", acme);
+        cache.put("globex", "same@example.com", user("globex"));
+
+        stateStore.invalidate(SecurityStateStore.Region.PRINCIPALS, "acme/same@example.com");
+
+        assertNull(cache.getIfPresent("acme", "same@example.com"));
+        assertNotNull(cache.getIfPresent("globex", "same@example.com"));
+    }
+
+    @Test
+    void testLoadRacingInvalidationDoesNotPinStalePrincipal() {
+        User stale = user("acme");
+
+        assertSame(stale, cache.get("acme", "same@example.com", login -> {
+            stateStore.invalidate(SecurityStateStore.Region.PRINCIPALS, "acme/same@example.com");
+            return stale;
+        }));
+        assertNull(cache.getIfPresent("acme", "same@example.com"));
+
+        long generation = cache.generation("acme", "same@example.com");
+        cache.invalidate("acme", "same@example.com");
+        cache.putIfCurrent("acme", "same@example.com", stale, generation);
+        assertNull(cache.getIfPresent("acme", "same@example.com"));
+    }
+
+    private User user(String tenant) {
+        return new User("Cached", "cached@example.com", "hash", UserRole.USER, tenant);
+    }
+}
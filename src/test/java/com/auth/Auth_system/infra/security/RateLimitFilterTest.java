@@ -0,0 +1,139 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.infra.audit.AuditLog;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+    private LoginAttemptTracker loginAttempts;
+
+    @BeforeEach
+    void setUp() {
+        loginAttempts = mock(LoginAttemptTracker.class);
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "ipCapacity", 3);
+        ReflectionTestUtils.setField(filter, "ipPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(filter, "loginCapacity", 2);
+        ReflectionTestUtils.setField(filter, "loginPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(filter, "maxKeys", 100);
+        ReflectionTestUtils.setField(filter, "loginAttempts", loginAttempts);
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "authMetrics", authMetrics);
+        ReflectionTestUtils.setField(filter, "auditLog", new AuditLog(64, 64, authMetrics));
+        filter.init();
+    }
+
+    @Test
+    void testBodyIsReplayedDownstream() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = login("user@example.com", chain);
+
+        assertEquals(200, response.getStatus());
+        String body = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("user@example.com"));
+    }
+
+    @Test
+    void testReplayedBodyCanBeReadAsynchronously() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        login("async@example.com", chain);
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[8];
+                while (in.isReady() && !in.isFinished()) {
+                    int read = in.read(buffer);
+                    if (read > 0) {
+                        body.write(buffer, 0, read);
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertEquals(List.of("data", "done"), events);
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains("async@example.com"));
+    }
+
+    @Test
+    void testRejectsLoginOverLimit() throws Exception {
+        assertEquals(200, login("user@example.com", new MockFilterChain()).getStatus());
+        assertEquals(200, login("USER@example.com", new MockFilterChain()).getStatus());
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = login("user@example.com", chain);
+
+        assertEquals(429, response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void testRejectsIpOverLimit() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, login("user" + i + "@example.com", new MockFilterChain()).getStatus());
+        }
+
+        assertEquals(429, login("other@example.com", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    void testRejectsLockedAccount() throws Exception {
+        when(loginAttempts.lockedUntil(TenantContext.DEFAULT_TENANT, "user@example.com")).thenReturn(Instant.now().plusSeconds(90));
+
+        MockHttpServletResponse response = login("user@example.com", new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertEquals("90", response.getHeader("Retry-After"));
+    }
+
+    private MockHttpServletResponse login(String login, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setServletPath("/auth/login");
+        request.setContentType("application/json");
+        request.setContent(("{\"login\":\"" + login + "\",\"password\":\"secret\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,52 @@
+package com.auth.Auth_system.infra.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    @Test
+    void testAllowsBurstThenRejects() {
+        RateLimiter limiter = new RateLimiter(3, Duration.ofMinutes(1), 100);
+
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertEquals(0, limiter.tryAcquire("key"));
+
+        long wait = limiter.tryAcquire("key");
+        assertTrue(wait > 0);
+        assertTrue(wait <= Duration.ofSeconds(20).toNanos());
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofMinutes(1), 100);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void testPermitsRefill() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofMillis(50), 100);
+
+        assertEquals(0, limiter.tryAcquire("key"));
+        assertTrue(limiter.tryAcquire("key") > 0);
+        Thread.sleep(60);
+        assertEquals(0, limiter.tryAcquire("key"));
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofMinutes(1), 100);
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+
+        assertTrue(limiter.size() <= 100);
+    }
+}
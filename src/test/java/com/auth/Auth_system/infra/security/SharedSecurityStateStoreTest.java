@@ -0,0 +1,127 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.security.SecurityStateStore.Region;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.DatagramSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SharedSecurityStateStoreTest {
+
+    private EmbeddedDatabase database;
+    private final List<SharedSecurityStateStore> stores = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/migration/V7__create-table-security-state.sql")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(SharedSecurityStateStore::close);
+        database.shutdown();
+    }
+
+    @Test
+    void testRevocationReachesPeerOverLoopback() throws Exception {
+        int[] ports = freePorts();
+        SharedSecurityStateStore first = store(ports[0], ports[1], "secret");
+        SharedSecurityStateStore second = store(ports[1], ports[0], "secret");
+
+        first.put(Region.REVOKED_TOKENS, "jti-1", Instant.now().plusSeconds(60));
+
+        assertNotNull(first.get(Region.REVOKED_TOKENS, "jti-1"));
+        awaitTrue(() -> second.get(Region.REVOKED_TOKENS, "jti-1") != null);
+    }
+
+    @Test
+    void testInvalidationReachesPeerListeners() throws Exception {
+        int[] ports = freePorts();
+        SharedSecurityStateStore first = store(ports[0], ports[1], "secret");
+        SharedSecurityStateStore second = store(ports[1], ports[0], "secret");
+        List<String> invalidated = new CopyOnWriteArrayList<>();
+        second.onInvalidate(Region.PRINCIPALS, invalidated::add);
+
+        first.invalidate(Region.PRINCIPALS, "acme/user@example.com");
+
+        awaitTrue(() -> invalidated.contains("acme/user@example.com"));
+    }
+
+    @Test
+    void testMessageWithWrongSecretIsIgnored() throws Exception {
+        int[] ports = freePorts();
+        SharedSecurityStateStore forged = store(ports[0], ports[1], "not-the-secret");
+        SharedSecurityStateStore second = store(ports[1], ports[0], "secret");
+        List<String> invalidated = new CopyOnWriteArrayList<>();
+        second.onInvalidate(Region.PRINCIPALS, invalidated::add);
+
+        forged.invalidate(Region.PRINCIPALS, "acme/user@example.com");
+        Thread.sleep(200);
+
+        assertTrue(invalidated.isEmpty());
+    }
+
+    @Test
+    void testNewNodeLoadsLiveEntriesFromTable() throws Exception {
+        int[] ports = freePorts();
+        SharedSecurityStateStore first = store(ports[0], ports[1], "secret");
+        first.put(Region.LOCKOUTS, "default/locked@example.com", Instant.now().plusSeconds(60));
+        new JdbcTemplate(database).update("insert into security_state values ('LOCKOUTS', 'default/expired@example.com', ?, ?)",
+                System.currentTimeMillis() - 1, System.currentTimeMillis());
+
+        SharedSecurityStateStore joined = store(ports[1], ports[0], "secret");
+
+        assertNotNull(joined.get(Region.LOCKOUTS, "default/locked@example.com"));
+        assertNull(joined.get(Region.LOCKOUTS, "default/expired@example.com"));
+    }
+
+    private SharedSecurityStateStore store(int port, int peerPort, String secret) throws Exception {
+        SharedSecurityStateStore store = new SharedSecurityStateStore();
+        ReflectionTestUtils.setField(store, "bindAddress", "127.0.0.1");
+        ReflectionTestUtils.setField(store, "port", port);
+        ReflectionTestUtils.setField(store, "peers", List.of("127.0.0.1:" + peerPort));
+        ReflectionTestUtils.setField(store, "secret", secret);
+        ReflectionTestUtils.setField(store, "syncInterval", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(store, "dataSource", database);
+        ReflectionTestUtils.setField(store, "taskExecutor", new SyncTaskExecutor());
+        ReflectionTestUtils.setField(store, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        store.init();
+        stores.add(store);
+        return store;
+    }
+
+    private static int[] freePorts() throws Exception {
+        try (DatagramSocket first = new DatagramSocket(0); DatagramSocket second = new DatagramSocket(0)) {
+            return new int[]{first.getLocalPort(), second.getLocalPort()};
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 2s");
+            Thread.sleep(5);
+        }
+    }
+}
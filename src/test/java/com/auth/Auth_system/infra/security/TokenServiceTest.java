@@ -0,0 +1,144 @@
+package com.auth.Auth_system.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth.Auth_system.domain.audit.AuditEventType;
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.audit.AuditLog;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TokenServiceTest {
+
+    private TokenService tokenService;
+    private AuditLog auditLog;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "keyRing", JwtKeyRingTest.keyRing(JwtKeyRing.SigningAlgorithm.HS256));
+        ReflectionTestUtils.setField(tokenService, "expiration", Duration.ofHours(2));
+        ReflectionTestUtils.setField(tokenService, "claimsModeExpiration", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(tokenService, "cacheTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(tokenService, "cacheMaxSize", 100);
+        ReflectionTestUtils.setField(tokenService, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(tokenService, "denylist", new TokenDenylist(new LocalSecurityStateStore()));
+        ReflectionTestUtils.setField(tokenService, "roleRegistry", new RoleRegistry());
+        auditLog = mock(AuditLog.class);
+        ReflectionTestUtils.setField(tokenService, "auditLog", auditLog);
+        tokenService.init();
+        user = new User("user-id", "Test User", "test@example.com", "hash", UserRole.ADMIN);
+    }
+
+    @Test
+    void testValidateToken() {
+        String token = tokenService.generateToken(user);
+
+        assertEquals("test@example.com", tokenService.validateToken(token));
+        assertEquals("", tokenService.validateToken(token + "x"));
+    }
+
+    @Test
+    void testVerifiedTokenIsCached() {
+        String token = tokenService.generateToken(user);
+
+        VerifiedToken first = tokenService.verify(token);
+        VerifiedToken second = tokenService.verify(token);
+
+        assertSame(first, second);
+        assertEquals(1, tokenService.cacheStats().hits());
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        ReflectionTestUtils.setField(tokenService, "expiration", Duration.ofSeconds(-1));
+
+        assertNull(tokenService.verify(tokenService.generateToken(user)));
+        assertEquals(0, tokenService.cacheStats().size());
+    }
+
+    @Test
+    void testRevokedTokenIsRejectedEvenWhenCached() {
+        String token = tokenService.generateToken(user);
+        VerifiedToken verified = tokenService.verify(token);
+
+        tokenService.revoke(verified);
+
+        assertNull(tokenService.verify(token));
+        assertNotNull(tokenService.verify(tokenService.generateToken(user)));
+    }
+
+    @Test
+    void testTokenWithoutClaimsModeCarriesNoRole() {
+        VerifiedToken verified = tokenService.verify(tokenService.generateToken(user));
+
+        assertNotNull(verified);
+        assertFalse(verified.hasClaims());
+    }
+
+    @Test
+    void testClaimsModeBuildsPrincipalFromToken() {
+        ReflectionTestUtils.setField(tokenService, "claimsMode", true);
+
+        String token = tokenService.generateToken(user);
+        VerifiedToken verified = tokenService.verify(token);
+        TokenPrincipal principal = TokenPrincipal.from(verified);
+
+        assertTrue(verified.hasClaims());
+        assertTrue(JWT.decode(token).getClaim("authorities").isMissing());
+        assertEquals("user-id", principal.id());
+        assertEquals("test@example.com", principal.getUsername());
+        assertSame(UserRole.ADMIN.definition(), principal.role());
+        assertSame(user.getAuthorities(), principal.getAuthorities());
+    }
+
+    @Test
+    void testTokenCarriesTenant() {
+        User tenantUser = new User("Tenant User", "test@example.com", "hash", UserRole.USER, "acme");
+
+        assertEquals("acme", tokenService.verify(tokenService.generateToken(tenantUser)).tenant());
+        assertEquals(TenantContext.DEFAULT_TENANT, tokenService.verify(tokenService.generateToken(user)).tenant());
+    }
+
+    @Test
+    void testRejectedTokensAreAudited() {
+        String token = tokenService.generateToken(user);
+        tokenService.revoke(tokenService.verify(token));
+        tokenService.verify(token);
+        tokenService.verify("not-a-token");
+        ReflectionTestUtils.setField(tokenService, "expiration", Duration.ofSeconds(-1));
+        tokenService.verify(tokenService.generateToken(user));
+
+        verify(auditLog).record(AuditEventType.TOKEN_REJECTED, TenantContext.DEFAULT_TENANT, "test@example.com", "revoked");
+        verify(auditLog).record(AuditEventType.TOKEN_REJECTED, TenantContext.DEFAULT_TENANT, null, "malformed");
+        verify(auditLog).record(AuditEventType.TOKEN_REJECTED, TenantContext.DEFAULT_TENANT, "test@example.com", "expired");
+        verifyNoMoreInteractions(auditLog);
+    }
+
+    @Test
+    void testForgedTokenClaimsAreNotAudited() {
+        String forged = JWT.create()
+                .withIssuer("auth-api")
+                .withSubject("admin@example.com")
+                .withClaim("tid", "acme")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256("foreign-secret"));
+
+        assertNull(tokenService.verify(forged));
+
+        verify(auditLog).record(AuditEventType.TOKEN_REJECTED, TenantContext.DEFAULT_TENANT, null, "signature");
+        verifyNoMoreInteractions(auditLog);
+    }
+}
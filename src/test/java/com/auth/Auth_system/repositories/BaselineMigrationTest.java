@@ -0,0 +1,79 @@
+package com.auth.Auth_system.repositories;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts from the schema Hibernate generated for the original entity with {@code ddl-auto=update}
+ * and lets Flyway baseline it the way the prod profile does, so the migrations after the baseline
+ * have to apply to it and leave a schema the current mappings validate against.
+ */
+@SpringBootTest(properties = {
+        "api.security.password.calibrate=false",
+        "spring.flyway.enabled=true",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.defer-datasource-initialization=false"
+})
+@ActiveProfiles("test")
+public class BaselineMigrationTest {
+    private static final String URL = "jdbc:h2:mem:baselined;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private UserRepository repository;
+
+    @DynamicPropertySource
+    static void baselineSchema(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table users (role smallint check (role between 0 and 1), id varchar(255) not null, "
+                    + "login varchar(255), name varchar(255), password varchar(255), primary key (id))");
+            statement.execute("insert into users (role, id, login, name, password) values "
+                    + "(0, 'admin-id', 'admin@example.com', 'Same Name', 'hash'), "
+                    + "(1, 'user-id', 'user@example.com', 'Same Name', 'hash')");
+        }
+        String baselineVersion = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application-prod.properties"))
+                .getProperty("spring.flyway.baseline-version");
+        registry.add("spring.datasource.url", () -> URL);
+        registry.add("spring.flyway.baseline-version", () -> baselineVersion);
+    }
+
+    @Test
+    void testMigrationsApplyToBaselinedSchema() {
+        assertEquals("2", flyway.info().applied()[0].getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("9", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    void testExistingUsersSurviveMigration() {
+        User admin = (User) repository.findByLogin(TenantContext.DEFAULT_TENANT, "admin@example.com");
+        User user = (User) repository.findByLogin(TenantContext.DEFAULT_TENANT, "user@example.com");
+
+        assertEquals(UserRole.ADMIN, admin.getRole());
+        assertEquals(UserRole.USER, user.getRole());
+        assertEquals("Same Name", user.getName());
+        assertTrue(user.isAccountNonLocked());
+    }
+}
@@ -0,0 +1,55 @@
+package com.auth.Auth_system.repositories;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the Flyway migrations to H2 in PostgreSQL mode and lets Hibernate validate the entity
+ * mappings against the result, the way the prod profile starts.
+ */
+@SpringBootTest(properties = {
+        "api.security.password.calibrate=false",
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.defer-datasource-initialization=false"
+})
+@ActiveProfiles("test")
+public class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Test
+    void testMigrationsMatchEntityMappings() {
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("9", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    void testUserRoundTripsThroughMigratedSchema() {
+        Instant lockedUntil = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.MILLIS);
+        repository.save(new User("Migrated", "migrated@example.com", "hash", UserRole.ADMIN, "acme"));
+        repository.save(new User("Migrated", "migrated@example.com", "hash", UserRole.USER, "globex"));
+        repository.lockUntil("acme", "migrated@example.com", lockedUntil);
+
+        User user = (User) repository.findByLogin("acme", "migrated@example.com");
+
+        assertEquals(UserRole.ADMIN, user.getRole());
+        assertEquals(lockedUntil, user.getLockedUntil());
+        assertEquals(UserRole.USER, ((User) repository.findByLogin("globex", "migrated@example.com")).getRole());
+    }
+}
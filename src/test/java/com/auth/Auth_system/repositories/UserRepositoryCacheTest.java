@@ -0,0 +1,111 @@
+package com.auth.Auth_system.repositories;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.security.SecurityStateStore;
+import com.auth.Auth_system.infra.security.SecurityStateStore.Region;
+import com.auth.Auth_system.infra.tenant.TenantContext;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "api.security.password.calibrate=false",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=hibernate-cache.conf",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+public class UserRepositoryCacheTest {
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SecurityStateStore stateStore;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testFindByLoginIsServedFromSecondLevelCache() {
+        repository.save(new User("Cached", "cached@example.com", "hash", UserRole.USER));
+        repository.findByLogin("cached@example.com");
+        statistics.clear();
+
+        User user = (User) repository.findByLogin("cached@example.com");
+
+        assertEquals("Cached", user.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void testLockReplacesCachedUser() {
+        repository.save(new User("Locked", "locked@example.com", "hash", UserRole.USER));
+        repository.findByLogin("locked@example.com");
+        Instant until = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MILLIS);
+
+        repository.lockUntil(TenantContext.DEFAULT_TENANT, "locked@example.com", until);
+
+        User user = (User) repository.findByLogin("locked@example.com");
+        assertEquals(until, user.getLockedUntil());
+        assertFalse(user.isAccountNonLocked());
+    }
+
+    @Test
+    void testPasswordUpdateKeepsOtherUsersCached() {
+        repository.save(new User("Bystander", "bystander@example.com", "hash", UserRole.USER));
+        repository.save(new User("Rehashed", "rehashed@example.com", "hash", UserRole.USER));
+        repository.findByLogin("bystander@example.com");
+
+        repository.updatePassword(TenantContext.DEFAULT_TENANT, "rehashed@example.com", "new-hash");
+        statistics.clear();
+
+        assertEquals("Bystander", ((User) repository.findByLogin("bystander@example.com")).getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("new-hash", repository.findByLogin("rehashed@example.com").getPassword());
+    }
+
+    @Test
+    void testPrincipalInvalidationEvictsCachedUser() {
+        User saved = repository.save(new User("Before", "peer@example.com", "hash", UserRole.USER));
+        repository.findByLogin("peer@example.com");
+        // a peer instance changed the row behind this instance's second-level cache
+        jdbcTemplate.update("update users set name = 'After' where id = ?", saved.getId());
+
+        stateStore.invalidate(Region.PRINCIPALS, TenantContext.key(TenantContext.DEFAULT_TENANT, "peer@example.com"));
+
+        assertFalse(entityManagerFactory.getCache().contains(User.class, saved.getId()));
+        assertEquals("After", ((User) repository.findByLogin("peer@example.com")).getName());
+    }
+
+    @Test
+    void testUnknownLoginReturnsNull() {
+        assertNull(repository.findByLogin("missing@example.com"));
+    }
+}
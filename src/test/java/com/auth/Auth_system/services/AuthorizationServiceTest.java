@@ -0,0 +1,141 @@
+package com.auth.Auth_system.services;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.datasource.ReadYourWrites;
+import com.auth.Auth_system.infra.metrics.AuthMetrics;
+import com.auth.Auth_system.infra.security.PasswordEncoderConfiguration;
+import com.auth.Auth_system.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthorizationServiceTest {
+    private static final String LOGIN = "rehash@example.com";
+    private static final String PASSWORD = "password123";
+
+    @Mock
+    private UserRepository repository;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    @Spy
+    private TaskExecutor taskExecutor = new SyncTaskExecutor();
+
+    @Spy
+    private AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private AuthorizationService authorizationService;
+
+    private PasswordEncoder passwordEncoder;
+    private DaoAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoderConfiguration configuration = new PasswordEncoderConfiguration();
+        ReflectionTestUtils.setField(configuration, "algorithm", "bcrypt");
+        ReflectionTestUtils.setField(configuration, "calibrate", false);
+        ReflectionTestUtils.setField(configuration, "bcryptStrength", 5);
+        ReflectionTestUtils.setField(configuration, "pbkdf2Iterations", 1000);
+        ReflectionTestUtils.setField(configuration, "argon2Iterations", 1);
+        ReflectionTestUtils.setField(configuration, "argon2MemoryKib", 1024);
+        passwordEncoder = configuration.passwordEncoder(authMetrics);
+
+        ReflectionTestUtils.setField(authorizationService, "passwordEncoder", passwordEncoder);
+
+        provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(authorizationService);
+        when(readYourWrites.read(any(), eq(LOGIN), any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+    }
+
+    @Test
+    void testLoginWithWeakerHashRehashesAtCurrentCost() {
+        givenStoredHash("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        login();
+
+        assertUpgraded();
+    }
+
+    @Test
+    void testLoginWithUnprefixedHashRehashesWithPrefix() {
+        givenStoredHash(new BCryptPasswordEncoder(5).encode(PASSWORD));
+
+        login();
+
+        assertUpgraded();
+    }
+
+    @Test
+    void testLoginWithCurrentHashIsNotRehashed() {
+        givenStoredHash(passwordEncoder.encode(PASSWORD));
+
+        login();
+
+        verify(repository, never()).updatePassword(any(), any(), any());
+    }
+
+    @Test
+    void testFailedLoginIsNotRehashed() {
+        givenStoredHash("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, "wrong-password")));
+
+        verify(repository, never()).updatePassword(any(), any(), any());
+    }
+
+    @Test
+    void testRehashRunsOnTaskExecutorNotInsideAuthentication() {
+        givenStoredHash("{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD));
+        verify(repository, never()).updatePassword(any(), any(), any());
+
+        login();
+        verify(taskExecutor).execute(any());
+        assertUpgraded();
+    }
+
+    /**
+     * What the login endpoint does: authenticate, then hand the raw password to the upgrade.
+     */
+    private void login() {
+        var authentication = provider.authenticate(new UsernamePasswordAuthenticationToken(LOGIN, PASSWORD));
+        authorizationService.upgradePassword((User) authentication.getPrincipal(), PASSWORD);
+    }
+
+    private void givenStoredHash(String hash) {
+        when(repository.findByLogin(any(), eq(LOGIN))).thenReturn(new User("Rehash", LOGIN, hash, UserRole.USER, "acme"));
+    }
+
+    private void assertUpgraded() {
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(repository).updatePassword(eq("acme"), eq(LOGIN), hash.capture());
+        assertTrue(hash.getValue().startsWith("{bcrypt}$2a$05$"), hash.getValue());
+        assertTrue(passwordEncoder.matches(PASSWORD, hash.getValue()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.auth.Auth_system.services;
+
+import com.auth.Auth_system.domain.token.RefreshToken;
+import com.auth.Auth_system.domain.user.LoginResponseDTO;
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.exceptions.InvalidRefreshTokenException;
+import com.auth.Auth_system.infra.security.LoginAttemptTracker;
+import com.auth.Auth_system.infra.security.TokenService;
+import com.auth.Auth_system.repositories.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository repository;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private LoginAttemptTracker loginAttempts;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "expiration", Duration.ofDays(14));
+        user = new User("user-id", "Test User", "test@example.com", "hash", UserRole.USER);
+    }
+
+    @Test
+    void testCreateStoresOnlyTheHash() {
+        String token = refreshTokenService.create(user);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(saved.capture());
+        assertEquals(TokenService.sha256Hex(token), saved.getValue().getTokenHash());
+        assertNotEquals(token, saved.getValue().getTokenHash());
+    }
+
+    @Test
+    void testRotateIssuesNewPairInSameFamily() {
+        RefreshToken current = stored("family", Instant.now().plusSeconds(60));
+        when(repository.findByTokenHash(TokenService.sha256Hex("presented"))).thenReturn(Optional.of(current));
+        when(repository.revoke(eq(current.getId()), any())).thenReturn(1);
+        when(tokenService.generateToken(user)).thenReturn("access-token");
+
+        LoginResponseDTO response = refreshTokenService.rotate("presented");
+
+        assertEquals("access-token", response.token());
+        assertNotEquals("presented", response.refreshToken());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(saved.capture());
+        assertEquals("family", saved.getValue().getFamilyId());
+    }
+
+    @Test
+    void testReuseRevokesWholeFamily() {
+        RefreshToken current = stored("family", Instant.now().plusSeconds(60));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(repository.revoke(eq(current.getId()), any())).thenReturn(0);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("presented"));
+        verify(repository).revokeFamily(eq("family"), any());
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        RefreshToken current = stored("family", Instant.now().minusSeconds(1));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("presented"));
+        verify(repository, never()).revoke(any(), any());
+    }
+
+    @Test
+    void testLockedAccountCannotRefresh() {
+        ReflectionTestUtils.setField(user, "lockedUntil", Instant.now().plusSeconds(60));
+        RefreshToken current = stored("family", Instant.now().plusSeconds(60));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+
+        assertThrows(LockedException.class, () -> refreshTokenService.rotate("presented"));
+        verify(repository, never()).revoke(any(), any());
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    void testAccountLockedOnAnotherInstanceCannotRefresh() {
+        RefreshToken current = stored("family", Instant.now().plusSeconds(60));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(loginAttempts.lockedUntil(user.getTenant(), user.getLogin())).thenReturn(Instant.now().plusSeconds(60));
+
+        assertThrows(LockedException.class, () -> refreshTokenService.rotate("presented"));
+        verify(repository, never()).revoke(any(), any());
+        verifyNoInteractions(tokenService);
+    }
+
+    private RefreshToken stored(String familyId, Instant expiresAt) {
+        RefreshToken token = new RefreshToken("hash", user, familyId, expiresAt);
+        ReflectionTestUtils.setField(token, "id", "token-id");
+        return token;
+    }
+}
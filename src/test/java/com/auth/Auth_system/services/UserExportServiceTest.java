@@ -0,0 +1,111 @@
+package com.auth.Auth_system.services;
+
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.security.TokenService;
+import com.auth.Auth_system.repositories.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "api.security.password.calibrate=false",
+        "api.security.password.bcrypt.strength=4"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UserExportServiceTest {
+    private static final String TENANT = "export";
+    private static final int USERS = 1_200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        if (repository.findByLogin(TENANT, "export-0@example.com") == null) {
+            List<User> users = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                users.add(new User("Export " + i, "export-" + i + "@example.com", "hash", UserRole.USER, TENANT));
+            }
+            repository.saveAll(users);
+        }
+    }
+
+    @Test
+    void testStreamWritesOneJsonObjectPerLine() throws Exception {
+        String token = tokenService.generateToken((User) repository.findByLogin(TENANT, "export-0@example.com"));
+        MvcResult started = mockMvc.perform(get("/auth/users/stream").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertEquals(USERS, lines.length);
+        Set<String> logins = new HashSet<>();
+        for (String line : lines) {
+            JsonNode user = objectMapper.readTree(line);
+            assertNotNull(user.get("id").asText());
+            assertFalse(user.has("password"));
+            logins.add(user.get("login").asText());
+        }
+        assertEquals(USERS, logins.size());
+    }
+
+    @Test
+    void testStreamFlushesInBatches() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+
+        userExportService.writeNdjson(TENANT, out);
+
+        assertEquals(USERS, out.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertTrue(out.flushes <= USERS / 500 + 1, "flushed " + out.flushes + " times");
+    }
+
+    private static class CountingOutputStream extends ByteArrayOutputStream {
+        int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
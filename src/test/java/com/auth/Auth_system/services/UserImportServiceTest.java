@@ -0,0 +1,171 @@
+package com.auth.Auth_system.services;
+
+import com.auth.Auth_system.domain.user.ImportErrorDTO;
+import com.auth.Auth_system.domain.user.ImportReportDTO;
+import com.auth.Auth_system.domain.user.User;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.infra.security.SecurityStateStore;
+import com.auth.Auth_system.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "api.security.password.calibrate=false",
+        "api.security.password.bcrypt.strength=4",
+        "api.users.import.batch-size=3"
+})
+@ActiveProfiles("test")
+public class UserImportServiceTest {
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private SecurityStateStore stateStore;
+
+    @Test
+    void testCsvImportReportsRowErrorsWithLineNumbers() throws IOException {
+        ImportReportDTO report = importUsers("csv", UserImportService.Format.CSV, """
+                name,login,password,role
+                Ada Lovelace,ada@example.com,password123,ADMIN
+                "Hopper, Grace",grace@example.com,password123,
+
+                Bad Email,not-an-email,password123,USER
+                Too Few,few@example.com
+                Bad Role,role@example.com,password123,ROOT
+                Unterminated,"open@example.com,password123
+                Alan Turing,alan@example.com,password123,user
+                """);
+
+        assertEquals(7, report.processed());
+        assertEquals(3, report.imported());
+        assertEquals(4, report.failed());
+        assertEquals(List.of(5L, 6L, 7L, 8L), report.errors().stream().map(ImportErrorDTO::line).toList());
+        assertEquals("not-an-email", report.errors().get(0).login());
+
+        User grace = (User) repository.findByLogin("csv", "grace@example.com");
+        assertEquals("Hopper, Grace", grace.getName());
+        assertEquals(UserRole.USER, grace.getRole());
+        assertEquals(UserRole.ADMIN, ((User) repository.findByLogin("csv", "ada@example.com")).getRole());
+        assertNotNull(repository.findByLogin("csv", "alan@example.com"));
+    }
+
+    @Test
+    void testNdjsonImportDefaultsRoleAndReportsMalformedLines() throws IOException {
+        ImportReportDTO report = importUsers("ndjson", UserImportService.Format.NDJSON, """
+                {"name":"Ada Lovelace","login":"ada@example.com","password":"password123"}
+                {"name":"Grace Hopper","login":"grace@example.com","password":"password123","role":"ADMIN"}
+                {"name":"Broken",
+                {"name":"Short Password","login":"short@example.com","password":"pw"}
+                """);
+
+        assertEquals(4, report.processed());
+        assertEquals(2, report.imported());
+        assertEquals(List.of(3L, 4L), report.errors().stream().map(ImportErrorDTO::line).toList());
+        assertEquals(UserRole.USER, ((User) repository.findByLogin("ndjson", "ada@example.com")).getRole());
+        assertEquals(UserRole.ADMIN, ((User) repository.findByLogin("ndjson", "grace@example.com")).getRole());
+    }
+
+    @Test
+    void testDuplicatesInFileAndExistingLoginsAreRejected() throws IOException {
+        repository.save(new User("Existing", "existing@example.com", "hash", UserRole.USER, "duplicates"));
+
+        ImportReportDTO report = importUsers("duplicates", UserImportService.Format.CSV, """
+                One,one@example.com,password123
+                Existing,existing@example.com,password123
+                One Again,one@example.com,password123
+                Two,two@example.com,password123
+                """);
+
+        assertEquals(2, report.imported());
+        assertEquals(List.of(
+                new ImportErrorDTO(3, "one@example.com", "Duplicate login in import."),
+                new ImportErrorDTO(2, "existing@example.com", "The email has already been registered.")), report.errors());
+        assertEquals("Existing", ((User) repository.findByLogin("duplicates", "existing@example.com")).getName());
+    }
+
+    @Test
+    void testLoginTakenAfterLookupFallsBackToSingleRows() throws IOException {
+        repository.save(new User("Taken", "taken@example.com", "hash", UserRole.USER, "race"));
+        UserImportService service = new UserImportService();
+        for (String field : List.of("userValidator", "passwordEncoder", "hashingExecutor", "objectMapper",
+                "transactionTemplate", "entityManager", "batchSize")) {
+            ReflectionTestUtils.setField(service, field, ReflectionTestUtils.getField(userImportService, field));
+        }
+        ReflectionTestUtils.setField(service, "repository", missingExistingLogins(repository));
+
+        ImportReportDTO report = service.importUsers("race", new ByteArrayInputStream("""
+                First,first@example.com,password123
+                Taken,taken@example.com,password123
+                Last,last@example.com,password123
+                """.getBytes(StandardCharsets.UTF_8)), UserImportService.Format.CSV);
+
+        assertEquals(2, report.imported());
+        assertEquals(List.of(new ImportErrorDTO(2, "taken@example.com", "The email has already been registered.")), report.errors());
+        assertNotNull(repository.findByLogin("race", "first@example.com"));
+        assertNotNull(repository.findByLogin("race", "last@example.com"));
+        assertEquals("Taken", ((User) repository.findByLogin("race", "taken@example.com")).getName());
+    }
+
+    @Test
+    void testImportSendsNoPrincipalInvalidations() throws IOException {
+        List<String> invalidated = new CopyOnWriteArrayList<>();
+        stateStore.onInvalidate(SecurityStateStore.Region.PRINCIPALS, key -> {
+            if (key.startsWith("invalidations/")) {
+                invalidated.add(key);
+            }
+        });
+
+        ImportReportDTO report = importUsers("invalidations", UserImportService.Format.CSV, """
+                One,one@example.com,password123
+                Two,two@example.com,password123
+                Three,three@example.com,password123
+                Four,four@example.com,password123
+                """);
+
+        assertEquals(4, report.imported());
+        assertEquals(List.of(), invalidated);
+
+        User one = (User) repository.findByLogin("invalidations", "one@example.com");
+        one.setPassword("rehashed");
+        repository.saveAndFlush(one);
+        assertEquals(List.of("invalidations/one@example.com"), invalidated);
+    }
+
+    private ImportReportDTO importUsers(String tenant, UserImportService.Format format, String body) throws IOException {
+        return userImportService.importUsers(tenant, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    /**
+     * Simulates a concurrent registration between the lookup and the insert.
+     */
+    private static UserRepository missingExistingLogins(UserRepository delegate) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(), new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findExistingLogins")) {
+                        return List.of();
+                    }
+                    try {
+                        return method.invoke(delegate, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
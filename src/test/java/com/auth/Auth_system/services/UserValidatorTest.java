@@ -0,0 +1,85 @@
+package com.auth.Auth_system.services;
+
+import com.auth.Auth_system.domain.user.FieldViolationDTO;
+import com.auth.Auth_system.domain.user.RegisterDTO;
+import com.auth.Auth_system.domain.user.UserRole;
+import com.auth.Auth_system.exceptions.PasswordValidationException;
+import com.auth.Auth_system.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserValidatorTest {
+
+    private final UserValidator userValidator = new UserValidator();
+
+    @Test
+    void testCollectsEveryViolation() {
+        RegisterDTO data = new RegisterDTO(" ", "not-an-email", "short", null);
+
+        ValidationException exception = assertThrows(ValidationException.class, () -> userValidator.validate(data));
+
+        assertEquals(List.of("name", "login", "password", "role"),
+                exception.getViolations().stream().map(FieldViolationDTO::field).toList());
+    }
+
+    @Test
+    void testSingleFieldKeepsSpecificException() {
+        RegisterDTO data = new RegisterDTO("Test User", "test@example.com", "TEST@example.com", UserRole.USER);
+
+        PasswordValidationException exception = assertThrows(PasswordValidationException.class, () -> userValidator.validate(data));
+        assertEquals("Password must not be the same as the login.", exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"user@example.com", "first.last+tag@mail.example.co", "a_b-c@localhost", "x@1.2.3.4", "U@EXAMPLE.COM"})
+    void testAcceptsValidEmails(String email) {
+        assertTrue(UserValidator.isValidEmail(email));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "@example.com", "user@", "user", "user@@example.com", "us er@example.com",
+            ".user@example.com", "user.@example.com", "us..er@example.com", "user@.example.com",
+            "user@example..com", "user@example.com.", "user@-example.com", "user@example-.com",
+            "user@exa_mple.com", "usér@example.com", "user@example.com\n", "user@exa mple.com"})
+    void testRejectsInvalidEmails(String email) {
+        assertFalse(UserValidator.isValidEmail(email));
+    }
+
+    @Test
+    void testRejectsOverlongParts() {
+        assertFalse(UserValidator.isValidEmail("a".repeat(65) + "@example.com"));
+        assertFalse(UserValidator.isValidEmail("user@" + "a".repeat(64) + ".com"));
+        assertFalse(UserValidator.isValidEmail("user@" + "a.".repeat(130) + "com"));
+    }
+
+    @Test
+    void testHostileInputsAreRejectedInLinearTime() {
+        String[] inputs = {
+                "a".repeat(100_000) + "!",
+                "a@" + "a.".repeat(50_000) + "-",
+                "a".repeat(50_000) + "@" + "a".repeat(50_000),
+                ".".repeat(100_000) + "@example.com"
+        };
+        assertTimeoutPreemptively(Duration.ofMillis(500), () -> {
+            for (String input : inputs) {
+                assertFalse(UserValidator.isValidEmail(input));
+                assertThrows(ValidationException.class, () -> userValidator.validate(new RegisterDTO(input, input, input, UserRole.USER)));
+            }
+        });
+    }
+
+    @Test
+    void testNameRules() {
+        assertNull(UserValidator.nameViolation("Ana"));
+        assertNotNull(UserValidator.nameViolation("\t \n"));
+        assertNotNull(UserValidator.nameViolation("Jo"));
+        assertNotNull(UserValidator.nameViolation("x".repeat(101)));
+        assertNotNull(UserValidator.nameViolation("Bad\u0000Name"));
+    }
+}